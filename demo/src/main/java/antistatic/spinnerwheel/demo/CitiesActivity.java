@@ -81,7 +81,7 @@ public class CitiesActivity extends Activity {
         ArrayWheelAdapter<String> adapter =
             new ArrayWheelAdapter<String>(this, cities[index]);
         adapter.setTextSize(18);
-        city.setViewAdapter(adapter);
+        city.swapViewAdapter(adapter);
         city.setCurrentItem(mActiveCities[index]);
     }
     
@@ -13,13 +13,10 @@ import antistatic.spinnerwheel.OnWheelChangedListener;
 import antistatic.spinnerwheel.OnWheelClickedListener;
 import antistatic.spinnerwheel.OnWheelScrollListener;
 import antistatic.spinnerwheel.WheelVerticalView;
-import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
+import antistatic.spinnerwheel.adapters.DateWheelAdapter;
+import antistatic.spinnerwheel.demo.adapter.CustomDateWheelAdapter;
 import antistatic.spinnerwheel.demo.adapter.CustomNumericWheelAdapter;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 
 /**
  * @author Xavier.S
@@ -51,24 +48,11 @@ public class DateTimePickerActivity extends Activity {
     }
 
     private void bind() {
-        wheel_date.setViewAdapter(new CustomNumericWheelAdapter(this,
-          0,
-          Integer.MAX_VALUE - 2,// in fact, the largest accept max value is MAX_VALUE - 2, but it is enough for finite scroll.
-          new NumericWheelAdapter.IntParamFunction<String>() {
-              Date mDate = new Date();
-              SimpleDateFormat mSimpleDateFormatHalf = new SimpleDateFormat("MM.dd", Locale.US);
-              SimpleDateFormat mSimpleDateFormatFull =
-                new SimpleDateFormat("yyyy.MM.dd", Locale.US);
-
-              @Override public String apply(int i) {
-                  // set current time
-                  mDate.setTime(TimeUnit.DAYS.toMillis(i));
-                  if (mDate.getYear() == 2016) {
-                      return mSimpleDateFormatHalf.format(mDate);
-                  }
-                  return mSimpleDateFormatFull.format(mDate);
-              }
-          }));
+        // days from 1900 to 2100, items are epoch days
+        CustomDateWheelAdapter dateAdapter = new CustomDateWheelAdapter(this,
+          DateWheelAdapter.toEpochDay(1900, 1, 1), DateWheelAdapter.toEpochDay(2100, 12, 31), "yyyy.MM.dd");
+        dateAdapter.setCurrentYearPattern("MM.dd");
+        wheel_date.setViewAdapter(dateAdapter);
         wheel_hour.setViewAdapter(new CustomNumericWheelAdapter(this, 0, 23));
         wheel_min.setViewAdapter(new CustomNumericWheelAdapter(this, 0, 59, "%02d"));
 
@@ -77,7 +61,7 @@ public class DateTimePickerActivity extends Activity {
         int curHours = c.get(Calendar.HOUR_OF_DAY);
         int curMinutes = c.get(Calendar.MINUTE);
 
-        wheel_date.setCurrentItem((int) TimeUnit.MILLISECONDS.toDays(c.getTimeInMillis()));
+        wheel_date.setCurrentItem(dateAdapter.getItemIndex(DateWheelAdapter.toEpochDay(c)));
         wheel_hour.setCurrentItem(curHours);
         wheel_min.setCurrentItem(curMinutes);
 
@@ -116,6 +100,7 @@ public class DateTimePickerActivity extends Activity {
         wheel.setVisibleItems(10);
         wheel.setActiveCoeff(0.8f);
         wheel.setPassiveCoeff(0.6f);
+        wheel.setCompositingMode(AbstractWheelView.COMPOSITING_LAYER);
 
         // test
         wheel.setSelectionDivider(new ColorDrawable(Color.BLACK));
@@ -179,7 +164,7 @@ public class DateTimePickerActivity extends Activity {
                 // test edge
                 wheel_date.setCurrentItem(0);
                 wheel_date.invalidateItemsLayout(false);
-                //wheel_date.setCurrentItem(Integer.MAX_VALUE - 2);
+                //wheel_date.setCurrentItem(wheel_date.getViewAdapter().getItemsCount() - 1);
             }
         });
     }
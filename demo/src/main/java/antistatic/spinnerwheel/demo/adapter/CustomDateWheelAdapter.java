@@ -0,0 +1,41 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.demo.adapter;
+
+import android.content.Context;
+import android.widget.TextView;
+import antistatic.spinnerwheel.adapters.DateWheelAdapter;
+
+/**
+ * Date Wheel adapter styled like {@link CustomNumericWheelAdapter}.
+ */
+public class CustomDateWheelAdapter extends DateWheelAdapter {
+    public CustomDateWheelAdapter(Context context, int minDay, int maxDay, String pattern) {
+        super(context, minDay, maxDay, pattern);
+        CustomTextStyle.apply(this);
+    }
+
+    @Override protected void onConfigureTextView(TextView textView, boolean isSelectedItem) {
+        super.onConfigureTextView(textView, isSelectedItem);
+        CustomTextStyle.configureTextView(textView, isSelectedItem, getTextColor());
+    }
+
+    @Override protected int getDefaultTextStyle() {
+        return CustomTextStyle.TEXT_STYLE;
+    }
+}
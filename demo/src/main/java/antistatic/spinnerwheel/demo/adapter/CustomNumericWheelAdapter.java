@@ -25,11 +25,8 @@
 package antistatic.spinnerwheel.demo.adapter;
 
 import android.content.Context;
-import android.graphics.Color;
-import android.graphics.Typeface;
 import android.widget.TextView;
 import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
-import antistatic.spinnerwheel.demo.R;
 
 /**
  * Numeric Wheel adapter.
@@ -56,22 +53,15 @@ public class CustomNumericWheelAdapter extends NumericWheelAdapter {
     }
 
     private void sharedConstructor() {
-        itemResourceId = R.layout.item_custom_text_view;
-        itemTextResourceId = R.id.tv;
-        emptyItemResourceId = R.layout.item_custom_text_view;
-        setTextColor(Color.parseColor("#999999"));
+        CustomTextStyle.apply(this);
     }
 
     @Override protected void onConfigureTextView(TextView textView, boolean isSelectedItem) {
         super.onConfigureTextView(textView, isSelectedItem);
-        if(isSelectedItem) {
-            textView.setTextColor(Color.parseColor("#333333"));
-        } else {
-            textView.setTextColor(getTextColor());
-        }
+        CustomTextStyle.configureTextView(textView, isSelectedItem, getTextColor());
     }
 
     @Override protected int getDefaultTextStyle() {
-        return Typeface.NORMAL;
+        return CustomTextStyle.TEXT_STYLE;
     }
 }
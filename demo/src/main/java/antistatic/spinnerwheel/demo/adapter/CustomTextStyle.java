@@ -0,0 +1,63 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.demo.adapter;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.widget.TextView;
+import antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter;
+import antistatic.spinnerwheel.demo.R;
+
+/**
+ * Text style shared by the custom adapters of the demo.
+ */
+final class CustomTextStyle {
+
+    /** Text color of the selected item */
+    static final int SELECTED_TEXT_COLOR = Color.parseColor("#333333");
+
+    /** Text color of the other items */
+    static final int TEXT_COLOR = Color.parseColor("#999999");
+
+    /** Text style of the items */
+    static final int TEXT_STYLE = Typeface.NORMAL;
+
+    private CustomTextStyle() {
+    }
+
+    /**
+     * Sets item layouts and text color of the adapter
+     * @param adapter the adapter to style
+     */
+    static void apply(AbstractWheelTextAdapter adapter) {
+        adapter.setItemResource(R.layout.item_custom_text_view);
+        adapter.setItemTextResource(R.id.tv);
+        adapter.setEmptyItemResource(R.layout.item_custom_text_view);
+        adapter.setTextColor(TEXT_COLOR);
+    }
+
+    /**
+     * Highlights the selected item
+     * @param textView the item text view
+     * @param isSelectedItem whether the item is selected
+     * @param textColor the text color of the other items
+     */
+    static void configureTextView(TextView textView, boolean isSelectedItem, int textColor) {
+        textView.setTextColor(isSelectedItem ? SELECTED_TEXT_COLOR : textColor);
+    }
+}
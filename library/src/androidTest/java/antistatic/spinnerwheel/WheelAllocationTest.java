@@ -0,0 +1,173 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import antistatic.spinnerwheel.adapters.NumericWheelAdapter;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts allocations of the main thread over a simulated fling, frames are dispatched
+ * and drawn synchronously. The first fling warms up pools, label tables and drawing assets,
+ * the second one should not allocate at all.
+ *
+ * Both orientations are checked, they measure and draw items with their own code.
+ *
+ * Items drawn by TextViews, the default rendering, are left out on purpose. Each item scrolled
+ * into the wheel gets a new text, and TextView lays it out inside the framework,
+ * which may allocate layouts and spans on some platform versions. Counts of that path
+ * would depend on the platform rather than on the spinnerwheel.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WheelAllocationTest {
+
+    /** Wheel size along and across scrolling axis */
+    private static final int LENGTH = 400;
+    private static final int THICKNESS = 200;
+
+    /** Frames dispatched per fling, enough for the fling to settle */
+    private static final int FRAMES = 300;
+    private static final long FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    /** Touch moves before the fling is released */
+    private static final int MOVES = 10;
+    private static final int MOVE_DISTANCE = 30;
+    private static final int MOVE_INTERVAL_MILLIS = 10;
+
+    @Test
+    public void textRenderingFling() {
+        assertFlingAllocations(false, AbstractWheelView.ITEM_RENDERING_TEXT, 0);
+    }
+
+    @Test
+    public void glyphRenderingFling() {
+        assertFlingAllocations(false, AbstractWheelView.ITEM_RENDERING_GLYPHS, 0);
+    }
+
+    @Test
+    public void stripFling() {
+        assertFlingAllocations(false, AbstractWheelView.ITEM_RENDERING_VIEWS, 60);
+    }
+
+    @Test
+    public void horizontalTextRenderingFling() {
+        assertFlingAllocations(true, AbstractWheelView.ITEM_RENDERING_TEXT, 0);
+    }
+
+    @Test
+    public void horizontalGlyphRenderingFling() {
+        assertFlingAllocations(true, AbstractWheelView.ITEM_RENDERING_GLYPHS, 0);
+    }
+
+    @Test
+    public void horizontalStripFling() {
+        assertFlingAllocations(true, AbstractWheelView.ITEM_RENDERING_VIEWS, 60);
+    }
+
+    private void assertFlingAllocations(final boolean horizontal, final int itemRendering, final int stripMaxItems) {
+        final int[] allocations = new int[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                AbstractWheelView wheel = horizontal ? new WheelHorizontalView(context) : new WheelVerticalView(context);
+                wheel.setViewAdapter(new NumericWheelAdapter(context, 0, 59, "%02d"));
+                wheel.setCyclic(true);
+                wheel.setItemRendering(itemRendering);
+                wheel.setStripMaxItems(stripMaxItems);
+                int width = horizontal ? LENGTH : THICKNESS;
+                int height = horizontal ? THICKNESS : LENGTH;
+                wheel.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+                wheel.layout(0, 0, width, height);
+                Canvas canvas = new Canvas(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+
+                MotionEvent[] warmUp = obtainFling(horizontal);
+                MotionEvent[] fling = obtainFling(horizontal);
+                fling(wheel, canvas, warmUp);
+
+                Debug.startAllocCounting();
+                Debug.resetThreadAllocCount();
+                fling(wheel, canvas, fling);
+                allocations[0] = Debug.getThreadAllocCount();
+                Debug.stopAllocCounting();
+
+                recycle(warmUp);
+                recycle(fling);
+            }
+        });
+        assertEquals("allocations during fling", 0, allocations[0]);
+    }
+
+    /**
+     * Obtains events of a fast swipe, upward or to the left
+     */
+    private static MotionEvent[] obtainFling(boolean horizontal) {
+        MotionEvent[] events = new MotionEvent[MOVES + 2];
+        long downTime = SystemClock.uptimeMillis();
+        float across = THICKNESS / 2f;
+        float along = LENGTH - MOVE_DISTANCE;
+        for (int i = 0; i <= MOVES + 1; i++) {
+            int action = i == 0 ? MotionEvent.ACTION_DOWN
+                    : i <= MOVES ? MotionEvent.ACTION_MOVE : MotionEvent.ACTION_UP;
+            int step = Math.min(i, MOVES);
+            float position = along - step * MOVE_DISTANCE;
+            events[i] = MotionEvent.obtain(downTime, downTime + step * MOVE_INTERVAL_MILLIS, action,
+                    horizontal ? position : across, horizontal ? across : position, 0);
+        }
+        return events;
+    }
+
+    private static void recycle(MotionEvent[] events) {
+        for (int i = 0; i < events.length; i++) {
+            events[i].recycle();
+        }
+    }
+
+    /**
+     * Delivers touch events, then runs and draws frames until the fling settles
+     */
+    private static void fling(AbstractWheelView wheel, Canvas canvas, MotionEvent[] events) {
+        WheelFrameClock clock = WheelFrameClock.getInstance();
+        long frameTime = System.nanoTime();
+        for (int i = 0; i < events.length; i++) {
+            wheel.onTouchEvent(events[i]);
+            frameTime += FRAME_INTERVAL_NANOS;
+            clock.dispatchFrame(frameTime);
+            wheel.draw(canvas);
+        }
+        for (int i = 0; i < FRAMES; i++) {
+            frameTime += FRAME_INTERVAL_NANOS;
+            clock.dispatchFrame(frameTime);
+            wheel.draw(canvas);
+        }
+    }
+}
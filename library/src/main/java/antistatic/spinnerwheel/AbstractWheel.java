@@ -26,19 +26,25 @@ package antistatic.spinnerwheel;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.database.DataSetObserver;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
+import antistatic.spinnerwheel.adapters.ExtendedWheelViewAdapter;
+import antistatic.spinnerwheel.adapters.LongWheelViewAdapter;
+import antistatic.spinnerwheel.adapters.WheelDataObserver;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
 import antistatic.spinnerwheel.adapters.WheelViewAdapter;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * Abstract spinner spinnerwheel view.
@@ -65,6 +71,16 @@ public abstract class AbstractWheel extends View {
     private static final int DEF_VISIBLE_ITEMS = 4;
     private static final boolean DEF_IS_CYCLIC = false;
 
+    /**
+     * Default count of items bound ahead of scrolling, prefetching is off
+     */
+    private static final int DEF_PREFETCH_ITEMS = 0;
+
+    /**
+     * Default item extent, item size is measured
+     */
+    private static final int DEF_ITEM_EXTENT = 0;
+
     //----------------------------------
     //  Class properties
     //----------------------------------
@@ -78,12 +94,22 @@ public abstract class AbstractWheel extends View {
 
     protected boolean mIsCyclic;
 
+    // Size of every item along scrolling axis, 0 if items are measured
+    protected int mItemExtent;
+
+    // Width of the widest item and the spec it was measured with, -1 if not measured
+    private int mWidestItemWidth = -1;
+    private int mWidestItemSpec;
+
     // Scrolling
     protected WheelScroller mScroller;
     protected boolean mIsScrollingPerformed;
     protected int mScrollingOffset;
 
-    // Items layout
+    // Views of shown items
+    protected WheelItemWindow mItems;
+
+    // Parent item views are created for, has no children
     protected LinearLayout mItemsLayout;
 
     // The number of first item in layout
@@ -92,21 +118,62 @@ public abstract class AbstractWheel extends View {
     // View adapter
     protected WheelViewAdapter mViewAdapter;
 
+    // Long index mode, used for LongWheelViewAdapter. Item positions are relative to the base,
+    // which moves with the current item, so positions of the shown items stay small
+    private LongWheelViewAdapter mLongViewAdapter;
+    private long mItemIdxBase;
+
     protected int mLayoutHeight;
     protected int mLayoutWidth;
 
     // Recycle
     private WheelRecycler mRecycler = new WheelRecycler(this);
 
-    // Listeners
-    private List<OnWheelChangedListener> changingListeners = new LinkedList<OnWheelChangedListener>();
-    private List<OnWheelScrollListener> scrollingListeners = new LinkedList<OnWheelScrollListener>();
-    private List<OnWheelClickedListener> clickingListeners = new LinkedList<OnWheelClickedListener>();
+    // Items range, reused on every rebuild to keep scrolling allocation-free
+    private final ItemsRange mItemsRange = new ItemsRange();
+
+    // Empty range used to recycle all the items
+    private static final ItemsRange EMPTY_RANGE = new ItemsRange();
+
+    // Views detached by item insertions and removals, reused by index on next rebuild
+    private final BoundViews mScrapViews = new BoundViews();
+
+    // Whether items have been rebound in place since last rebuild
+    private boolean mItemsRebound;
+
+    // Adapter changes are applied once, on next rebuild. Stronger change wins.
+    private static final int PENDING_NONE = 0;
+    private static final int PENDING_ITEMS = 1;
+    private static final int PENDING_CHANGED = 2;
+    private static final int PENDING_INVALIDATED = 3;
+    private int mPendingChange = PENDING_NONE;
+
+    // Range of changed items for PENDING_ITEMS, end is exclusive
+    private int mPendingStart;
+    private int mPendingEnd;
+
+    // Prefetching
+    private int mPrefetchItems;
+    private final BoundViews mPrefetchedViews = new BoundViews();
+    private boolean mIsPrefetchScheduled;
+    // Sign of the last scrolling delta, positive is towards lower indices
+    private int mScrollDirection;
+
+    // Visible views by item key, reused while swapping adapters
+    private final HashMap<Object, View> mKeyedViews = new HashMap<Object, View>();
+
+    // Listeners, iterated by index so notifications do not allocate iterators
+    private ArrayList<OnWheelChangedListener> changingListeners = new ArrayList<OnWheelChangedListener>();
+    private ArrayList<OnWheelScrollListener> scrollingListeners = new ArrayList<OnWheelScrollListener>();
+    private ArrayList<OnWheelClickedListener> clickingListeners = new ArrayList<OnWheelClickedListener>();
 
     //XXX: I don't like listeners the way as they are now. -df
 
     // Adapter listener
-    private DataSetObserver mDataObserver;
+    private WheelDataObserver mDataObserver;
+
+    // Bitmaps of rendered items, null if items are not cached
+    WheelItemCache mItemCache;
     public int              mLastTempDirection;
 
 
@@ -146,6 +213,8 @@ public abstract class AbstractWheel extends View {
         mVisibleItems = a.getInt(R.styleable.AbstractWheelView_visibleItems, DEF_VISIBLE_ITEMS);
         mIsAllVisible = a.getBoolean(R.styleable.AbstractWheelView_isAllVisible, false);
         mIsCyclic = a.getBoolean(R.styleable.AbstractWheelView_isCyclic, DEF_IS_CYCLIC);
+        mPrefetchItems = a.getInt(R.styleable.AbstractWheelView_prefetchItems, DEF_PREFETCH_ITEMS);
+        mItemExtent = a.getDimensionPixelSize(R.styleable.AbstractWheelView_itemExtent, DEF_ITEM_EXTENT);
 
         a.recycle();
     }
@@ -157,15 +226,66 @@ public abstract class AbstractWheel extends View {
      */
     protected void initData(Context context) {
 
-        mDataObserver = new DataSetObserver() {
+        mDataObserver = new WheelDataObserver() {
             @Override
             public void onChanged() {
-                invalidateItemsLayout(false);
+                clearItemCache();
+                onItemsChanged();
+                postChange(PENDING_CHANGED);
             }
 
             @Override
             public void onInvalidated() {
-                invalidateItemsLayout(true);
+                clearItemCache();
+                onItemsChanged();
+                postChange(PENDING_INVALIDATED);
+            }
+
+            @Override
+            public void onItemRangeChanged(int start, int count) {
+                if (mItemCache != null) {
+                    mItemCache.removeRange(start, count);
+                }
+                onItemsChanged();
+                if (mPendingChange == PENDING_NONE) {
+                    mPendingStart = start;
+                    mPendingEnd = start + count;
+                } else if (mPendingChange == PENDING_ITEMS) {
+                    mPendingStart = Math.min(mPendingStart, start);
+                    mPendingEnd = Math.max(mPendingEnd, start + count);
+                }
+                postChange(PENDING_ITEMS);
+            }
+
+            @Override
+            public void onItemRangeInserted(int start, int count) {
+                onItemsMoved(start);
+                moveItems(start, count, count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int start, int count) {
+                onItemsMoved(start);
+                moveItems(start, count, -count);
+            }
+
+            @Override
+            public void onWidestItemChanged() {
+                mWidestItemWidth = -1;
+                requestLayout();
+            }
+
+            /**
+             * Pending changed items can not follow moved ones, rebinding all of them then
+             */
+            private void onItemsMoved(int start) {
+                if (mItemCache != null) {
+                    mItemCache.removeRange(start, Long.MAX_VALUE);
+                }
+                onItemsChanged();
+                if (mPendingChange == PENDING_ITEMS && mPendingEnd > start) {
+                    postChange(PENDING_CHANGED);
+                }
             }
         };
 
@@ -191,7 +311,12 @@ public abstract class AbstractWheel extends View {
                 mLastTempDirection = direction;
             }
 
+            @Override public int onFlingDistance(int distance) {
+                return getSnappedFlingDistance(distance);
+            }
+
             public void onScroll(int distance) {
+                mScrollDirection = distance;
                 doScroll(distance);
 
                 int dimension = getMaxOverScrollDimension();
@@ -216,27 +341,28 @@ public abstract class AbstractWheel extends View {
             }
 
             public void onJustify() {
+                int target = mCurrentItemIdx;
                 if (Math.abs(mScrollingOffset) > WheelScroller.MIN_DELTA_FOR_SCROLLING) {
-                    boolean handled = false;
                     final int scrollOffsetDirection = mScrollingOffset;
 
                     // if justify direction is not fling direction, try make it be
                     if (scrollOffsetDirection * mLastTempDirection < 0) {
                         if (mLastTempDirection == WheelScroller.SCROLL_DIRECTION_UP) {
                             if(isValidItemIndex(mCurrentItemIdx + 1)) {
-                                mScroller.scroll(mScrollingOffset + getItemDimension(), 0);
-                                handled = true;
+                                target = mCurrentItemIdx + 1;
                             }
                         } else {
                             if(isValidItemIndex(mCurrentItemIdx - 1)) {
-                                mScroller.scroll(mScrollingOffset - getItemDimension(), 0);
-                                handled = true;
+                                target = mCurrentItemIdx - 1;
                             }
                         }
                     }
+                }
 
-                    // default justify
-                    if (!handled) mScroller.scroll(mScrollingOffset, 0);
+                // disabled items are skipped
+                target = getEnabledItemPosition(target);
+                if (target != mCurrentItemIdx || Math.abs(mScrollingOffset) > WheelScroller.MIN_DELTA_FOR_SCROLLING) {
+                    mScroller.scroll(mScrollingOffset + (target - mCurrentItemIdx) * getItemDimension(), 0);
                 }
             }
         });
@@ -249,7 +375,7 @@ public abstract class AbstractWheel extends View {
         SavedState ss = new SavedState(superState);
         //end
 
-        ss.currentItem = this.getCurrentItem();
+        ss.currentItem = this.getCurrentItemLong();
 
         return ss;
     }
@@ -266,7 +392,12 @@ public abstract class AbstractWheel extends View {
         super.onRestoreInstanceState(ss.getSuperState());
         //end
 
-        mCurrentItemIdx = ss.currentItem;
+        if (mLongViewAdapter != null) {
+            mItemIdxBase = ss.currentItem;
+            mCurrentItemIdx = 0;
+        } else {
+            mCurrentItemIdx = (int) ss.currentItem;
+        }
 
         // dirty hack to re-draw child items correctly
         postDelayed(new Runnable() {
@@ -278,7 +409,7 @@ public abstract class AbstractWheel extends View {
     }
 
     static class SavedState extends BaseSavedState {
-        int currentItem;
+        long currentItem;
 
         SavedState(Parcelable superState) {
             super(superState);
@@ -286,13 +417,13 @@ public abstract class AbstractWheel extends View {
 
         private SavedState(Parcel in) {
             super(in);
-            this.currentItem = in.readInt();
+            this.currentItem = in.readLong();
         }
 
         @Override
         public void writeToParcel(Parcel out, int flags) {
             super.writeToParcel(out, flags);
-            out.writeInt(this.currentItem);
+            out.writeLong(this.currentItem);
         }
 
         //required field that makes Parcelables from a Parcel
@@ -373,6 +504,29 @@ public abstract class AbstractWheel extends View {
         mScroller.setFriction(friction);
     }
 
+    /**
+     * Adjusts fling distance, so the fling stops exactly at item boundary of an enabled item.
+     * For non-cyclic spinnerwheel the fling is also limited by the first and the last items.
+     *
+     * @param distance the distance fling would scroll
+     * @return the distance to the nearest item boundary
+     */
+    protected int getSnappedFlingDistance(int distance) {
+        int itemDimension = getItemDimension();
+        if (itemDimension == 0 || getItemsCountLong() == 0) {
+            return distance;
+        }
+
+        // positive offset scrolls towards lower indices
+        int items = Math.round((mScrollingOffset + distance) / (float) itemDimension);
+        if (!mIsCyclic) {
+            items = Math.max(mCurrentItemIdx - getLastItemPosition(),
+                    Math.min(items, mCurrentItemIdx - getFirstItemPosition()));
+        }
+        items = mCurrentItemIdx - getEnabledItemPosition(mCurrentItemIdx - items);
+        return items * itemDimension - mScrollingOffset;
+    }
+
     /**
      * Scrolls the spinnerwheel
      *
@@ -385,7 +539,9 @@ public abstract class AbstractWheel extends View {
         int count = mScrollingOffset / itemDimension;
 
         int pos = mCurrentItemIdx - count;
-        int itemCount = mViewAdapter.getItemsCount();
+        long itemCount = getItemsCountLong();
+        int firstPos = getFirstItemPosition();
+        int lastPos = getLastItemPosition();
 
         int fixPos = mScrollingOffset % itemDimension;
         if (Math.abs(fixPos) <= itemDimension / 2) {
@@ -399,22 +555,21 @@ public abstract class AbstractWheel extends View {
                 pos++;
                 count--;
             }
-            // fix position by rotating
-            while (pos < 0) {
-                pos += itemCount;
+            // fix position by rotating, positions of long index mode are rotated by rebasing
+            if (mLongViewAdapter == null) {
+                pos = (int) toItemIndex(pos, itemCount);
             }
-            pos %= itemCount;
         } else {
-            if (pos < 0) {
-                count = mCurrentItemIdx;
-                pos = 0;
-            } else if (pos >= itemCount) {
-                count = mCurrentItemIdx - itemCount + 1;
-                pos = itemCount - 1;
-            } else if (pos > 0 && fixPos > 0) {
+            if (pos < firstPos) {
+                count = mCurrentItemIdx - firstPos;
+                pos = firstPos;
+            } else if (pos > lastPos) {
+                count = mCurrentItemIdx - lastPos;
+                pos = lastPos;
+            } else if (pos > firstPos && fixPos > 0) {
                 pos--;
                 count++;
-            } else if (pos < itemCount - 1 && fixPos < 0) {
+            } else if (pos < lastPos && fixPos < 0) {
                 pos++;
                 count--;
             }
@@ -422,7 +577,7 @@ public abstract class AbstractWheel extends View {
 
         int offset = mScrollingOffset;
         if (pos != mCurrentItemIdx) {
-            setCurrentItem(pos, false);
+            selectItemPosition(pos);
         } else {
             invalidate();
         }
@@ -478,12 +633,12 @@ public abstract class AbstractWheel extends View {
     //--------------------------------------------------------------------------
 
     /**
-     * Creates item layouts if necessary
+     * Creates items window and the parent of item views if necessary
      */
     abstract protected void createItemsLayout();
 
     /**
-     * Sets layout width and height
+     * Lays out item views bound since the last layout
      */
     abstract protected void doItemsLayout();
 
@@ -508,17 +663,64 @@ public abstract class AbstractWheel extends View {
      * @param clearCaches if true then cached views will be cleared
      */
     public void invalidateItemsLayout(boolean clearCaches) {
+        resetItemsLayout(clearCaches);
+        invalidate();
+    }
+
+    /**
+     * Records adapter change to be applied on next rebuild
+     *
+     * @param change the change, one of PENDING_ constants
+     */
+    private void postChange(int change) {
+        if (change > mPendingChange) {
+            mPendingChange = change;
+        }
+        mWidestItemWidth = -1;
+        invalidate();
+    }
+
+    /**
+     * Applies adapter changes recorded since last rebuild
+     */
+    private void applyPendingChanges() {
+        switch (mPendingChange) {
+            case PENDING_INVALIDATED:
+                resetItemsLayout(true);
+                break;
+            case PENDING_CHANGED:
+                resetItemsLayout(false);
+                break;
+            case PENDING_ITEMS:
+                mPendingChange = PENDING_NONE;
+                rebindItems(mPendingStart, mPendingEnd - mPendingStart);
+                break;
+        }
+    }
+
+    /**
+     * Detaches items from layout, so they are rebuilt
+     *
+     * @param clearCaches if true then cached views will be cleared
+     */
+    private void resetItemsLayout(boolean clearCaches) {
+        if (clearCaches || mPendingChange != PENDING_INVALIDATED) {
+            mPendingChange = PENDING_NONE; // covered by this reset
+        }
         if (clearCaches) {
+            mScrapViews.clear(null);
+            mPrefetchedViews.clear(null);
             mRecycler.clearAll();
-            if (mItemsLayout != null) {
-                mItemsLayout.removeAllViews();
+            if (mItems != null) {
+                mItems.clear();
             }
             mScrollingOffset = 0;
-        } else if (mItemsLayout != null) {
+        } else if (mItems != null) {
             // cache all items
-            mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, new ItemsRange());
+            mScrapViews.clear(mRecycler);
+            mPrefetchedViews.clear(mRecycler);
+            mRecycler.recycleItems(mItems, mFirstItemIdx, EMPTY_RANGE);
         }
-        invalidate();
     }
 
 
@@ -528,6 +730,92 @@ public abstract class AbstractWheel extends View {
     //
     //--------------------------------------------------------------------------
 
+    /**
+     * Gets count of items bound ahead of scrolling
+     *
+     * @return the count of prefetched items
+     */
+    public int getPrefetchItems() {
+        return mPrefetchItems;
+    }
+
+    /**
+     * Sets count of items bound ahead in scrolling direction while the main thread is idle,
+     * so items entering the spinnerwheel do not have to be bound while drawing.
+     *
+     * @param count the count of prefetched items, 0 turns prefetching off
+     */
+    public void setPrefetchItems(int count) {
+        mPrefetchItems = count;
+        if (count == 0) {
+            mPrefetchedViews.clear(mRecycler);
+        }
+    }
+
+    /**
+     * Gets size of items along scrolling axis
+     *
+     * @return the item extent, 0 if items are measured
+     */
+    public int getItemExtent() {
+        return mItemExtent;
+    }
+
+    /**
+     * Sets size all the items have along scrolling axis, height for vertical spinnerwheel
+     * and width for horizontal one. Items are then sized to the extent instead of being measured
+     * along the axis, so spinnerwheel size is known without measuring them.
+     *
+     * @param extent the item extent in pixels, 0 to measure items
+     */
+    public void setItemExtent(int extent) {
+        if (mItemExtent == extent) {
+            return;
+        }
+        mItemExtent = extent;
+        if (mItems != null) {
+            mItems.setFixedExtent(extent);
+        }
+        onItemGeometryChanged();
+        requestLayout();
+        invalidate();
+    }
+
+    @Override
+    public void setPadding(int left, int top, int right, int bottom) {
+        if (left != getPaddingLeft() || top != getPaddingTop()
+                || right != getPaddingRight() || bottom != getPaddingBottom()) {
+            onItemGeometryChanged();
+        }
+        super.setPadding(left, top, right, bottom);
+    }
+
+    /**
+     * Gets the pool item views are recycled to
+     *
+     * @return the view pool
+     */
+    public WheelViewPool getViewPool() {
+        return mRecycler.getViewPool();
+    }
+
+    /**
+     * Sets pool shared with other spinnerwheels using the same item layouts.
+     * Views cached so far are dropped.
+     *
+     * @param pool the shared pool, null to use a private one
+     */
+    public void setViewPool(WheelViewPool pool) {
+        if (mRecycler.getViewPool() == pool) {
+            return;
+        }
+        mRecycler.clearAll();
+        mRecycler.setViewPool(pool);
+        if (mViewAdapter != null) {
+            ensureViewTypes(mViewAdapter);
+        }
+    }
+
     /**
      * Gets count of visible items
      *
@@ -578,19 +866,133 @@ public abstract class AbstractWheel extends View {
         if (this.mViewAdapter != null) {
             this.mViewAdapter.unregisterDataSetObserver(mDataObserver);
         }
+        long current = getCurrentItemLong();
+        mWidestItemWidth = -1;
+        clearItemCache();
+        onItemsChanged();
         this.mViewAdapter = viewAdapter;
+        this.mLongViewAdapter = viewAdapter instanceof LongWheelViewAdapter ? (LongWheelViewAdapter) viewAdapter : null;
+        if (mLongViewAdapter != null) {
+            mItemIdxBase = current;
+            mCurrentItemIdx = 0;
+        } else {
+            mItemIdxBase = 0;
+            mCurrentItemIdx = saturate(current);
+        }
         if (this.mViewAdapter != null) {
             this.mViewAdapter.registerDataSetObserver(mDataObserver);
+            ensureViewTypes(viewAdapter);
         }
         invalidateItemsLayout(true);
     }
 
+    /**
+     * Replaces view adapter with one showing similar data, e.g. on parent change of cascading wheels.
+     * Visible views of items with the same {@link ExtendedWheelViewAdapter#getItemKey(int) key} in both adapters
+     * are kept as they are, cached views are reused, so the new adapter must create views of the same
+     * view types. The current item follows its key if the new adapter has it.
+     * Like {@link #setViewAdapter(WheelViewAdapter)}, changing listeners are not notified.
+     *
+     * @param viewAdapter the new view adapter
+     */
+    public void swapViewAdapter(WheelViewAdapter viewAdapter) {
+        WheelViewAdapter oldAdapter = mViewAdapter;
+        if (oldAdapter == null || viewAdapter == null || oldAdapter == viewAdapter
+                || mLongViewAdapter != null || viewAdapter instanceof LongWheelViewAdapter) {
+            // matching keys of long adapters would take time proportional to their size
+            setViewAdapter(viewAdapter);
+            return;
+        }
+
+        mPendingChange = PENDING_NONE; // changes of the old adapter are of no use
+        mWidestItemWidth = -1;
+        clearItemCache();
+        onItemsChanged();
+        Object currentKey = isValidItemIndex(mCurrentItemIdx) ? getItemKey(oldAdapter, mCurrentItemIdx) : null;
+        int oldItemsCount = oldAdapter.getItemsCount();
+
+        // detaching visible views, keeping ones which can be matched by key
+        mScrapViews.clear(mRecycler);
+        mPrefetchedViews.clear(mRecycler);
+        if (mItems != null) {
+            for (int i = 0; i < mItems.size(); i++) {
+                View view = mItems.get(i);
+                int position = mFirstItemIdx + i;
+                Object key = isValidItemIndex(position) ? getItemKey(oldAdapter, (int) toItemIndex(position, oldItemsCount)) : null;
+                if (key == null || mKeyedViews.containsKey(key)) {
+                    mRecycler.recycle(view);
+                } else {
+                    mKeyedViews.put(key, view);
+                }
+            }
+            mItems.clear();
+        }
+
+        oldAdapter.unregisterDataSetObserver(mDataObserver);
+        mViewAdapter = viewAdapter;
+        mViewAdapter.registerDataSetObserver(mDataObserver);
+        ensureViewTypes(viewAdapter);
+
+        // matching keys against the new items
+        int itemsCount = viewAdapter.getItemsCount();
+        int current = -1;
+        if (currentKey != null || !mKeyedViews.isEmpty()) {
+            for (int i = 0; i < itemsCount; i++) {
+                Object key = getItemKey(viewAdapter, i);
+                if (key == null) {
+                    continue;
+                }
+                if (current < 0 && key.equals(currentKey)) {
+                    current = i;
+                }
+                View view = mKeyedViews.remove(key);
+                if (view != null) {
+                    if (WheelRecycler.getViewType(view) == getItemViewType(viewAdapter, i)) {
+                        mScrapViews.put(i, view);
+                    } else {
+                        mRecycler.recycle(view);
+                    }
+                }
+                if (mKeyedViews.isEmpty() && (current >= 0 || currentKey == null)) {
+                    break;
+                }
+            }
+        }
+        for (View view : mKeyedViews.values()) {
+            mRecycler.recycle(view);
+        }
+        mKeyedViews.clear();
+
+        if (current >= 0) {
+            mCurrentItemIdx = current;
+        } else {
+            mScrollingOffset = 0;
+            mCurrentItemIdx = Math.max(0, Math.min(mCurrentItemIdx, itemsCount - 1));
+        }
+        invalidate();
+    }
+
     /**
      * Gets current value
      *
      * @return the current value
      */
     public int getCurrentItem() {
+        if (mLongViewAdapter != null) {
+            return saturate(getCurrentItemLong());
+        }
+        return mCurrentItemIdx;
+    }
+
+    /**
+     * Gets current value, the only exact one for {@link LongWheelViewAdapter} beyond int range
+     *
+     * @return the current value
+     */
+    public long getCurrentItemLong() {
+        if (mLongViewAdapter != null) {
+            return toItemIndex(mCurrentItemIdx);
+        }
         return mCurrentItemIdx;
     }
 
@@ -601,6 +1003,10 @@ public abstract class AbstractWheel extends View {
      * @param animated the animation flag
      */
     public void setCurrentItem(int index, boolean animated) {
+        if (mLongViewAdapter != null) {
+            setCurrentItem((long) index, animated);
+            return;
+        }
         if (mViewAdapter == null || mViewAdapter.getItemsCount() == 0) {
             return; // throw?
         }
@@ -608,10 +1014,7 @@ public abstract class AbstractWheel extends View {
         int itemCount = mViewAdapter.getItemsCount();
         if (index < 0 || index >= itemCount) {
             if (mIsCyclic) {
-                while (index < 0) {
-                    index += itemCount;
-                }
-                index %= itemCount;
+                index = (int) floorMod(index, itemCount);
             } else {
                 return; // throw?
             }
@@ -636,6 +1039,60 @@ public abstract class AbstractWheel extends View {
         }
     }
 
+    /**
+     * Sets the current item of {@link LongWheelViewAdapter}. Does nothing when index is wrong.
+     * Takes the same time for any distance from the current item.
+     *
+     * @param index    the item index
+     * @param animated the animation flag, ignored when the item is too far to scroll to
+     */
+    public void setCurrentItem(long index, boolean animated) {
+        if (mLongViewAdapter == null) {
+            if (index >= Integer.MIN_VALUE && index <= Integer.MAX_VALUE) {
+                setCurrentItem((int) index, animated);
+            }
+            return;
+        }
+        long itemCount = getItemsCountLong();
+        if (itemCount == 0) {
+            return;
+        }
+        if (index < 0 || index >= itemCount) {
+            if (mIsCyclic) {
+                index = floorMod(index, itemCount);
+            } else {
+                return;
+            }
+        }
+        long current = getCurrentItemLong();
+        if (index == current) {
+            return;
+        }
+
+        long itemsToScroll = index - current;
+        if (mIsCyclic && Math.abs(itemsToScroll) > itemCount / 2) {
+            itemsToScroll -= Long.signum(itemsToScroll) * itemCount; // the other way round is shorter
+        }
+        if (animated && Math.abs(itemsToScroll) <= Integer.MAX_VALUE / Math.max(1, getItemDimension())) {
+            scroll((int) itemsToScroll, 0);
+            return;
+        }
+
+        mScrollingOffset = 0;
+        if (Math.abs(itemsToScroll) <= MAX_ITEM_POSITION) {
+            selectItemPosition(mCurrentItemIdx + (int) itemsToScroll);
+        } else {
+            // shown items are far away
+            final int old = saturate(current);
+            resetItemsLayout(false);
+            mItemIdxBase = index;
+            mCurrentItemIdx = 0;
+            mFirstItemIdx = 0;
+            notifyChangingListeners(old, saturate(index));
+            invalidate();
+        }
+    }
+
     /**
      * Sets the current item w/o animation. Does nothing when index is wrong.
      *
@@ -696,8 +1153,8 @@ public abstract class AbstractWheel extends View {
      * @param newValue the new spinnerwheel value
      */
     protected void notifyChangingListeners(int oldValue, int newValue) {
-        for (OnWheelChangedListener listener : changingListeners) {
-            listener.onChanged(this, oldValue, newValue);
+        for (int i = 0; i < changingListeners.size(); i++) {
+            changingListeners.get(i).onChanged(this, oldValue, newValue);
         }
     }
 
@@ -723,8 +1180,8 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about starting scrolling
      */
     protected void notifyScrollingListenersAboutStart() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingStarted(this);
+        for (int i = 0; i < scrollingListeners.size(); i++) {
+            scrollingListeners.get(i).onScrollingStarted(this);
         }
     }
 
@@ -732,8 +1189,8 @@ public abstract class AbstractWheel extends View {
      * Notifies listeners about ending scrolling
      */
     protected void notifyScrollingListenersAboutEnd() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingFinished(this);
+        for (int i = 0; i < scrollingListeners.size(); i++) {
+            scrollingListeners.get(i).onScrollingFinished(this);
         }
     }
 
@@ -761,8 +1218,8 @@ public abstract class AbstractWheel extends View {
      * @param item clicked item
      */
     protected void notifyClickListenersAboutClick(int item) {
-        for (OnWheelClickedListener listener : clickingListeners) {
-            listener.onItemClicked(this, item);
+        for (int i = 0; i < clickingListeners.size(); i++) {
+            clickingListeners.get(i).onItemClicked(this, item);
         }
     }
 
@@ -779,20 +1236,34 @@ public abstract class AbstractWheel extends View {
      * @return true if items are rebuilt
      */
     protected boolean rebuildItems() {
+        applyPendingChanges();
+
+        if (isTextRendering() || isStripRendering()) {
+            // items are drawn as texts or from the strip, views are not bound at all
+            if (mItems == null) {
+                createItemsLayout();
+                mItems.setFixedExtent(mItemExtent);
+            } else if (mItems.size() > 0) {
+                resetItemsLayout(false);
+            }
+            return false;
+        }
+
         boolean updated;
         ItemsRange range = getItemsRange();
 
-        if (mItemsLayout != null) {
-            int first = mRecycler.recycleItems(mItemsLayout, mFirstItemIdx, range);
+        if (mItems != null) {
+            int first = mRecycler.recycleItems(mItems, mFirstItemIdx, range);
             updated = mFirstItemIdx != first;
             mFirstItemIdx = first;
         } else {
             createItemsLayout();
+            mItems.setFixedExtent(mItemExtent);
             updated = true;
         }
 
         if (!updated) {
-            updated = mFirstItemIdx != range.getFirst() || mItemsLayout.getChildCount() != range.getCount();
+            updated = mFirstItemIdx != range.getFirst() || mItems.size() != range.getCount();
         }
 
         if (mFirstItemIdx > range.getFirst() && mFirstItemIdx <= range.getLast()) {
@@ -807,13 +1278,25 @@ public abstract class AbstractWheel extends View {
         }
 
         int first = mFirstItemIdx;
-        for (int i = mItemsLayout.getChildCount(); i < range.getCount(); i++) {
-            if (!addItemView(mFirstItemIdx + i, false) && mItemsLayout.getChildCount() == 0) {
+        for (int i = mItems.size(); i < range.getCount(); i++) {
+            if (!addItemView(mFirstItemIdx + i, false) && mItems.size() == 0) {
                 first++;
             }
         }
         mFirstItemIdx = first;
 
+        // views of items scrolled out while being moved
+        mScrapViews.clear(mRecycler);
+        if (mItemsRebound) {
+            mItemsRebound = false;
+            updated = true;
+        }
+
+        if (mPrefetchItems > 0 && mIsScrollingPerformed && !mIsPrefetchScheduled) {
+            mIsPrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(mPrefetcher);
+        }
+
         return updated;
     }
 
@@ -822,11 +1305,11 @@ public abstract class AbstractWheel extends View {
     //----------------------------------
 
     /**
-     * Calculates range for spinnerwheel items
+     * Calculates range for spinnerwheel items. The returned instance is reused by subsequent calls.
      *
      * @return the items range
      */
-    private ItemsRange getItemsRange() {
+    protected ItemsRange getItemsRange() {
         if (mIsAllVisible) {
             int baseDimension = getBaseDimension();
             int itemDimension = getItemDimension();
@@ -843,11 +1326,13 @@ public abstract class AbstractWheel extends View {
             }
         }
         if (!isCyclic()) {
-            if (start < 0) start = 0;
+            int firstPos = getFirstItemPosition();
+            if (start < firstPos) start = firstPos;
             if (mViewAdapter == null) end = 0;
-            else if (end > mViewAdapter.getItemsCount()) end = mViewAdapter.getItemsCount();
+            else if (end > getLastItemPosition() + 1) end = getLastItemPosition() + 1;
         }
-        return new ItemsRange(start, end - start + 1);
+        mItemsRange.set(start, end - start + 1);
+        return mItemsRange;
     }
 
     /**
@@ -857,8 +1342,295 @@ public abstract class AbstractWheel extends View {
      * @return true if item index is not out of bounds or the spinnerwheel is cyclic
      */
     protected boolean isValidItemIndex(int index) {
-        return (mViewAdapter != null) && (mViewAdapter.getItemsCount() > 0) &&
-                (mIsCyclic || (index >= 0 && index < mViewAdapter.getItemsCount()));
+        long itemsCount = getItemsCountLong();
+        if (itemsCount <= 0) {
+            return false;
+        }
+        long itemIndex = mItemIdxBase + index;
+        return mIsCyclic || (itemIndex >= 0 && itemIndex < itemsCount);
+    }
+
+    //----------------------------------
+    //  Item positions
+    //----------------------------------
+
+    // Disabled items further than this from snapping target are not skipped
+    private static final int MAX_ENABLED_ITEM_SEARCH = 1000;
+
+    // Positions further than this are not kept in long index mode, leaving room for arithmetic
+    private static final int MAX_ITEM_POSITION = Integer.MAX_VALUE / 4;
+
+    /**
+     * Gets items count, 64-bit one in long index mode
+     *
+     * @return the items count, 0 if there is no adapter
+     */
+    private long getItemsCountLong() {
+        if (mViewAdapter == null) {
+            return 0;
+        }
+        return mLongViewAdapter != null ? mLongViewAdapter.getItemsCountLong() : mViewAdapter.getItemsCount();
+    }
+
+    /**
+     * Converts item position to adapter index. Takes constant time for any position.
+     *
+     * @param position the item position, may be out of bounds for cyclic spinnerwheel
+     * @param itemsCount the items count
+     * @return the item index
+     */
+    private long toItemIndex(int position, long itemsCount) {
+        if (!mIsCyclic || itemsCount <= 0) {
+            return mItemIdxBase + position;
+        }
+        // both operands reduced first, so the sum can not overflow for counts near Long.MAX_VALUE
+        long base = floorMod(mItemIdxBase, itemsCount);
+        long index = base - (itemsCount - floorMod(position, itemsCount));
+        return index < 0 ? index + itemsCount : index;
+    }
+
+    /**
+     * Gets remainder of division rounded down, never negative for positive divisor
+     *
+     * @param value the dividend
+     * @param divisor the positive divisor
+     * @return the remainder from 0 to divisor - 1
+     */
+    private static long floorMod(long value, long divisor) {
+        long mod = value % divisor;
+        return mod < 0 ? mod + divisor : mod;
+    }
+
+    /**
+     * Converts item position to adapter index
+     *
+     * @param position the item position
+     * @return the item index
+     */
+    private long toItemIndex(int position) {
+        return toItemIndex(position, getItemsCountLong());
+    }
+
+    /**
+     * Gets position of the first item of non-cyclic spinnerwheel
+     *
+     * @return the position of item 0
+     */
+    private int getFirstItemPosition() {
+        return (int) Math.max(-mItemIdxBase, -MAX_ITEM_POSITION);
+    }
+
+    /**
+     * Gets position of the last item of non-cyclic spinnerwheel
+     *
+     * @return the position of the last item
+     */
+    private int getLastItemPosition() {
+        return (int) Math.min(getItemsCountLong() - 1 - mItemIdxBase, MAX_ITEM_POSITION);
+    }
+
+    /**
+     * Makes item at position the current one
+     *
+     * @param position the item position
+     */
+    private void selectItemPosition(int position) {
+        mScrollingOffset = 0;
+        final int old = getCurrentItem();
+        mCurrentItemIdx = position;
+        if (mLongViewAdapter != null) {
+            // moving the base to the current item
+            long itemsCount = getItemsCountLong();
+            mItemIdxBase = toItemIndex(position, itemsCount);
+            mFirstItemIdx -= position;
+            mCurrentItemIdx = 0;
+        }
+        notifyChangingListeners(old, getCurrentItem());
+        invalidate();
+    }
+
+    /**
+     * Tests if item at position is valid and enabled
+     *
+     * @param position the item position
+     * @return true if the item can be selected
+     */
+    protected boolean isItemPositionEnabled(int position) {
+        if (!isValidItemIndex(position)) {
+            return false;
+        }
+        long index = toItemIndex(position);
+        if (mLongViewAdapter != null) {
+            return mLongViewAdapter.isItemEnabled(index);
+        }
+        return !(mViewAdapter instanceof ExtendedWheelViewAdapter)
+                || ((ExtendedWheelViewAdapter) mViewAdapter).isItemEnabled((int) index);
+    }
+
+    /**
+     * Finds the enabled item nearest to position, items before it are preferred on ties
+     *
+     * @param position the item position
+     * @return the enabled item position, or position itself if there is no enabled item nearby
+     */
+    private int getEnabledItemPosition(int position) {
+        if (mViewAdapter == null || isItemPositionEnabled(position)) {
+            return position;
+        }
+        for (int i = 1; i <= MAX_ENABLED_ITEM_SEARCH; i++) {
+            if (isItemPositionEnabled(position - i)) {
+                return position - i;
+            }
+            if (isItemPositionEnabled(position + i)) {
+                return position + i;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Saturates index to int range, for int based listeners in long index mode
+     *
+     * @param index the item index
+     * @return the index, or the closest int value
+     */
+    private static int saturate(long index) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(index, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Gets type of the item view
+     *
+     * @param index the item index
+     * @return the view type
+     */
+    private int getItemViewType(long index) {
+        if (mLongViewAdapter != null) {
+            return mLongViewAdapter.getItemViewType(index);
+        }
+        return getItemViewType(mViewAdapter, (int) index);
+    }
+
+    /**
+     * Gets type of the item view, the only type for adapters not telling it
+     *
+     * @param adapter the adapter
+     * @param index the item index
+     * @return the view type
+     */
+    private static int getItemViewType(WheelViewAdapter adapter, int index) {
+        return adapter instanceof ExtendedWheelViewAdapter ? ((ExtendedWheelViewAdapter) adapter).getItemViewType(index) : 0;
+    }
+
+    /**
+     * Sizes the view pool for view types of the adapter
+     *
+     * @param adapter the adapter
+     */
+    private void ensureViewTypes(WheelViewAdapter adapter) {
+        int count = adapter instanceof ExtendedWheelViewAdapter ? ((ExtendedWheelViewAdapter) adapter).getViewTypeCount() : 1;
+        mRecycler.getViewPool().ensureViewTypeCount(count);
+    }
+
+    /**
+     * Gets key of the item, null for adapters not telling it
+     *
+     * @param adapter the adapter
+     * @param index the item index
+     * @return the item key
+     */
+    private static Object getItemKey(WheelViewAdapter adapter, int index) {
+        return adapter instanceof ExtendedWheelViewAdapter ? ((ExtendedWheelViewAdapter) adapter).getItemKey(index) : null;
+    }
+
+    /**
+     * Binds item view with adapter
+     *
+     * @param index the item index
+     * @param convertView the view to reuse if possible
+     * @return the item view
+     */
+    private View bindItemView(long index, View convertView) {
+        return bindItemView(index, convertView, getCurrentItemLong());
+    }
+
+    /**
+     * Binds item view with adapter
+     *
+     * @param index the item index
+     * @param convertView the view to reuse if possible
+     * @param current the index of the current item, -1 to bind no item as current one
+     * @return the item view
+     */
+    private View bindItemView(long index, View convertView, long current) {
+        View view = mLongViewAdapter != null
+                ? mLongViewAdapter.getItem(index, convertView, mItemsLayout, current)
+                : mViewAdapter.getItem((int) index, convertView, mItemsLayout, (int) current);
+        if (view != null && mItemCache != null) {
+            // rendered into the cache once laid out, see renderItems()
+            view.setTag(R.id.wheel_item_cache_key, WheelItemCache.key(index, index == current));
+        }
+        return view;
+    }
+
+    //----------------------------------
+    //  Rendered item cache
+    //----------------------------------
+
+    /**
+     * Gets view showing rendered item from the cache
+     *
+     * @param index the item index
+     * @return the view or null if item is not cached
+     */
+    private View getRenderedItemView(long index) {
+        WheelItemCache.Entry entry = mItemCache.get(WheelItemCache.key(index, index == getCurrentItemLong()));
+        if (entry == null) {
+            return null;
+        }
+        View view = mRecycler.getItem(WheelViewPool.TYPE_RENDERED);
+        RenderedItemView rendered = view instanceof RenderedItemView ? (RenderedItemView) view : new RenderedItemView(getContext());
+        rendered.setItem(entry);
+        WheelRecycler.setViewType(rendered, WheelViewPool.TYPE_RENDERED);
+        return rendered;
+    }
+
+    /**
+     * Renders views bound since the last pass into the item cache, so items coming back
+     * are shown from the cache. Called once shown views are laid out.
+     */
+    void renderItems() {
+        if (mItemCache == null || mItems == null) {
+            return;
+        }
+        for (int i = 0; i < mItems.size(); i++) {
+            View view = mItems.get(i);
+            Object key = view.getTag(R.id.wheel_item_cache_key);
+            if (key == null || view.getWidth() <= 0 || view.getHeight() <= 0) {
+                continue;
+            }
+            view.setTag(R.id.wheel_item_cache_key, null);
+            mItemCache.render((Long) key, view);
+        }
+    }
+
+    /**
+     * Drops all rendered items
+     */
+    private void clearItemCache() {
+        if (mItemCache != null) {
+            mItemCache.clear();
+        }
+    }
+
+    /**
+     * Drops rendered items once items are sized differently, shown items are bound again
+     */
+    void onItemGeometryChanged() {
+        if (mItemCache != null) {
+            mItemCache.clear();
+            resetItemsLayout(false);
+        }
     }
 
     //----------------------------------
@@ -866,7 +1638,7 @@ public abstract class AbstractWheel extends View {
     //----------------------------------
 
     /**
-     * Adds view for item to items layout
+     * Adds view for item to shown items
      *
      * @param index the item index
      * @param first the flag indicates if view should be first
@@ -876,9 +1648,9 @@ public abstract class AbstractWheel extends View {
         View view = getItemView(index);
         if (view != null) {
             if (first) {
-                mItemsLayout.addView(view, 0);
+                mItems.addFirst(view);
             } else {
-                mItemsLayout.addView(view);
+                mItems.addLast(view);
             }
             return true;
         }
@@ -886,25 +1658,367 @@ public abstract class AbstractWheel extends View {
     }
 
     /**
-     * Returns view for specified item
+     * Binds views of all the items to given window in index order, none of them as the current item.
+     * Should be used for small adapters only.
+     *
+     * @param window the window to add views to
+     * @return false if adapter has no view for some item, the window is left empty then
+     */
+    protected boolean bindAllItems(WheelItemWindow window) {
+        long count = getItemsCountLong();
+        for (long index = 0; index < count; index++) {
+            int type = getItemViewType(index);
+            View view = bindItemView(index, mRecycler.getItem(type), -1);
+            if (view == null) {
+                recycleAllItems(window);
+                return false;
+            }
+            WheelRecycler.setViewType(view, type);
+            window.addLast(view);
+        }
+        return true;
+    }
+
+    /**
+     * Recycles all views of given window, e.g. bound by {@link #bindAllItems(WheelItemWindow)}
+     *
+     * @param window the window
+     */
+    protected void recycleAllItems(WheelItemWindow window) {
+        mRecycler.recycleItems(window, 0, EMPTY_RANGE);
+    }
+
+    /**
+     * Measures the widest item adapter knows about, see {@link ExtendedWheelViewAdapter#getWidestItemIndex()}.
+     * The width is kept until adapter data changes, so it does not depend on items shown.
+     *
+     * @param widthMeasureSpec the width spec to measure the item with
+     * @return the item width including margins, -1 if adapter does not know its widest item
+     */
+    protected int getWidestItemWidth(int widthMeasureSpec) {
+        if (mWidestItemWidth >= 0 && mWidestItemSpec == widthMeasureSpec) {
+            return mWidestItemWidth;
+        }
+        if (mViewAdapter == null || mItemsLayout == null) {
+            return -1;
+        }
+        if (!(mViewAdapter instanceof ExtendedWheelViewAdapter)) {
+            return -1;
+        }
+        int index = ((ExtendedWheelViewAdapter) mViewAdapter).getWidestItemIndex();
+        if (index < 0 || index >= getItemsCountLong()) {
+            return -1;
+        }
+        mWidestItemWidth = measureItemWidth(index, widthMeasureSpec);
+        mWidestItemSpec = widthMeasureSpec;
+        return mWidestItemWidth;
+    }
+
+    /**
+     * Measures width of item
      *
      * @param index the item index
+     * @param widthMeasureSpec the width spec to measure the item with
+     * @return the item width including margins, -1 if there is no view for the item
+     */
+    protected int measureItemWidth(int index, int widthMeasureSpec) {
+        int type = getItemViewType(index);
+        View view = bindItemView(index, mRecycler.getItem(type));
+        if (view == null) {
+            return -1;
+        }
+        WheelRecycler.setViewType(view, type);
+
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        int margins = 0;
+        if (lp instanceof ViewGroup.MarginLayoutParams) {
+            margins = ((ViewGroup.MarginLayoutParams) lp).leftMargin + ((ViewGroup.MarginLayoutParams) lp).rightMargin;
+        }
+        view.measure(ViewGroup.getChildMeasureSpec(widthMeasureSpec, margins, lp != null ? lp.width : ViewGroup.LayoutParams.MATCH_PARENT),
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        mRecycler.recycle(view);
+        return view.getMeasuredWidth() + margins;
+    }
+
+    //----------------------------------
+    //  Text rendering
+    //----------------------------------
+
+    /**
+     * Tests if items are drawn from strip of all the items rendered before.
+     * Views are not bound for shown items then.
+     *
+     * @return false, subclasses drawing strips override it
+     */
+    protected boolean isStripRendering() {
+        return false;
+    }
+
+    /**
+     * Called when adapter data changes or adapter is replaced,
+     * before the change is applied to shown items
+     */
+    protected void onItemsChanged() {
+    }
+
+    /**
+     * Tests if items are drawn as texts by the spinnerwheel itself, without item views
+     *
+     * @return true if no item views are used
+     */
+    protected boolean isTextRendering() {
+        return false;
+    }
+
+    /**
+     * Tests if adapter items can be drawn as texts
+     *
+     * @return true if adapter is a text renderable {@link WheelTextAdapter}
+     */
+    protected boolean isTextRenderableAdapter() {
+        return mViewAdapter instanceof WheelTextAdapter && mLongViewAdapter == null
+                && ((WheelTextAdapter) mViewAdapter).isTextRenderable();
+    }
+
+    /**
+     * Gets text of item at position, for text rendering
+     *
+     * @param position the item position
+     * @return the item text, null for empty items
+     */
+    protected CharSequence getItemLabel(int position) {
+        if (!isValidItemIndex(position)) {
+            return null;
+        }
+        return ((WheelTextAdapter) mViewAdapter).getItemLabel((int) toItemIndex(position));
+    }
+
+    /**
+     * Returns view for specified item
+     *
+     * @param position the item position
      * @return item view or empty view if index is out of bounds
      */
-    private View getItemView(int index) {
-        if (mViewAdapter == null || mViewAdapter.getItemsCount() == 0) {
+    private View getItemView(int position) {
+        long count = getItemsCountLong();
+        if (count == 0) {
             return null;
         }
-        int count = mViewAdapter.getItemsCount();
-        if (!isValidItemIndex(index)) {
-            return mViewAdapter.getEmptyItem(mRecycler.getEmptyItem(), mItemsLayout);
+        View view;
+        int type;
+        if (!isValidItemIndex(position)) {
+            type = WheelViewPool.TYPE_EMPTY;
+            view = mViewAdapter.getEmptyItem(mRecycler.getEmptyItem(), mItemsLayout);
+        } else {
+            long index = toItemIndex(position, count);
+            view = mScrapViews.take(index);
+            if (view == null) {
+                view = mPrefetchedViews.take(index);
+            }
+            if (view != null) {
+                return view; // already bound to this item
+            }
+            if (mItemCache != null) {
+                view = getRenderedItemView(index);
+                if (view != null) {
+                    return view;
+                }
+            }
+            type = getItemViewType(index);
+            view = bindItemView(index, mRecycler.getItem(type));
+        }
+        if (view != null) {
+            WheelRecycler.setViewType(view, type);
+        }
+        return view;
+    }
+
+
+    //----------------------------------
+    //  Applying item level changes
+    //----------------------------------
+
+    /**
+     * Rebinds visible views of changed items. Other views are left as they are.
+     *
+     * @param start the index of the first changed item
+     * @param count the number of changed items
+     */
+    private void rebindItems(int start, int count) {
+        if (mItems == null || mViewAdapter == null) {
+            return;
+        }
+        long itemsCount = getItemsCountLong();
+        for (int i = 0; i < mItems.size(); i++) {
+            int position = mFirstItemIdx + i;
+            if (!isValidItemIndex(position)) {
+                continue; // empty item
+            }
+            long index = toItemIndex(position, itemsCount);
+            if (index < start || index >= (long) start + count) {
+                continue;
+            }
+
+            View view = mItems.get(i);
+            int type = getItemViewType(index);
+            View convertView = WheelRecycler.getViewType(view) == type ? view : mRecycler.getItem(type);
+            View bound = bindItemView(index, convertView);
+            if (bound == null) {
+                // no view for the item anymore, rebuilding the whole window
+                resetItemsLayout(false);
+                return;
+            }
+            if (bound != view) {
+                mRecycler.recycle(view);
+                WheelRecycler.setViewType(bound, type);
+            }
+            mItems.set(i, bound); // measured again on next pass
+        }
+        mItemsRebound = true;
+        mPrefetchedViews.clear(mRecycler);
+    }
+
+    /**
+     * Moves visible views after items have been inserted or removed. Views of moved items
+     * are kept bound and reused on next rebuild, current item keeps pointing to the same item.
+     *
+     * @param start the index of the first inserted or removed item
+     * @param count the number of inserted or removed items
+     * @param delta the index shift of items after start, negative for removal
+     */
+    private void moveItems(int start, int count, int delta) {
+        if (mViewAdapter == null) {
+            return;
+        }
+        long itemsCount = getItemsCountLong();
+        long oldItemsCount = itemsCount - delta;
+        mWidestItemWidth = -1;
+
+        // views detached by previous moves are still waiting for rebuild
+        mPrefetchedViews.move(start, count, delta, mRecycler);
+        mScrapViews.move(start, count, delta, mRecycler);
+        if (mItems != null) {
+            for (int i = 0; i < mItems.size(); i++) {
+                View view = mItems.get(i);
+                long index = toItemIndex(mFirstItemIdx + i, oldItemsCount);
+                if (oldItemsCount <= 0 || index < 0 || index >= oldItemsCount) {
+                    mRecycler.recycle(view); // empty item
+                    continue;
+                }
+                if (index >= start) {
+                    if (delta < 0 && index < start + count) {
+                        mRecycler.recycle(view); // removed item
+                        continue;
+                    }
+                    index += delta;
+                }
+                mScrapViews.put(index, view);
+            }
+            mItems.clear();
+        }
+
+        // keeping selection on the same item
+        long current = oldItemsCount > 0 ? toItemIndex(mCurrentItemIdx, oldItemsCount) : 0;
+        int old = saturate(current);
+        if (oldItemsCount <= 0) {
+            current = 0;
+        } else if (current >= (long) start + count || (delta > 0 && current >= start)) {
+            current += delta;
+        } else if (current >= start) {
+            current = start; // removed, selecting the next one
+        }
+        current = Math.max(0, Math.min(current, itemsCount - 1));
+        if (mLongViewAdapter != null) {
+            mItemIdxBase = current;
+            mCurrentItemIdx = 0;
         } else {
-            while (index < 0) {
-                index = count + index;
+            mCurrentItemIdx = (int) current;
+        }
+        if (old != saturate(current)) {
+            notifyChangingListeners(old, saturate(current));
+        }
+        invalidate();
+    }
+
+    //----------------------------------
+    //  Prefetching
+    //----------------------------------
+
+    // binds items once the main thread has nothing to do before next frame
+    private final MessageQueue.IdleHandler mPrefetcher = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mIsPrefetchScheduled = false;
+            prefetchItems();
+            return false; // scheduled again by next rebuild
+        }
+    };
+
+    /**
+     * Binds items next to the visible ones in scrolling direction, until the next frame is due
+     */
+    private void prefetchItems() {
+        if (mViewAdapter == null || mItems == null || mItems.size() == 0) {
+            return;
+        }
+        long itemsCount = getItemsCountLong();
+        if (itemsCount == 0) {
+            return;
+        }
+
+        WheelFrameClock clock = WheelFrameClock.getInstance();
+        long deadline = clock.getLastFrameTimeNanos() + clock.getFrameIntervalNanos();
+        if (deadline <= System.nanoTime()) {
+            // no frame is being drawn, limiting to a part of frame anyway
+            deadline = System.nanoTime() + clock.getFrameIntervalNanos() / 2;
+        }
+
+        // positive scrolling brings lower indices in
+        int step = mScrollDirection > 0 ? -1 : 1;
+        int edge = step < 0 ? mFirstItemIdx : mFirstItemIdx + mItems.size() - 1;
+
+        // dropping views left behind
+        for (int i = mPrefetchedViews.size() - 1; i >= 0; i--) {
+            if (!isPrefetchTarget(mPrefetchedViews.indexAt(i), edge, step, itemsCount)) {
+                mRecycler.recycle(mPrefetchedViews.removeAt(i));
             }
         }
-        index %= count;
-        return mViewAdapter.getItem(index, mRecycler.getItem(), mItemsLayout, mCurrentItemIdx);
+
+        for (int k = 1; k <= mPrefetchItems && System.nanoTime() < deadline; k++) {
+            int position = edge + step * k;
+            if (!isValidItemIndex(position)) {
+                break;
+            }
+            long index = toItemIndex(position, itemsCount);
+            if (mPrefetchedViews.contains(index)) {
+                continue;
+            }
+            int type = getItemViewType(index);
+            View view = bindItemView(index, mRecycler.getItem(type));
+            if (view == null) {
+                break;
+            }
+            WheelRecycler.setViewType(view, type);
+            mPrefetchedViews.put(index, view);
+        }
+    }
+
+    /**
+     * Tests if item is among the ones to be prefetched
+     *
+     * @param index the item index
+     * @param edge the position of the last visible item in scrolling direction
+     * @param step the scrolling direction, 1 or -1
+     * @param itemsCount the items count
+     * @return true if item should be kept prefetched
+     */
+    private boolean isPrefetchTarget(long index, int edge, int step, long itemsCount) {
+        for (int k = 1; k <= mPrefetchItems; k++) {
+            if (toItemIndex(edge + step * k, itemsCount) == index) {
+                return true;
+            }
+        }
+        return false;
     }
 
 
@@ -938,7 +2052,8 @@ public abstract class AbstractWheel extends View {
                     }
                     int items = distance / getItemDimension();
                     if (items != 0 && isValidItemIndex(mCurrentItemIdx + items)) {
-                        notifyClickListenersAboutClick(mCurrentItemIdx + items);
+                        notifyClickListenersAboutClick(mLongViewAdapter != null
+                                ? saturate(toItemIndex(mCurrentItemIdx + items)) : mCurrentItemIdx + items);
                     }
                 }
                 break;
@@ -28,9 +28,12 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.*;
 import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
 import android.util.AttributeSet;
-import com.nineoldandroids.animation.Animator;
-import com.nineoldandroids.animation.ObjectAnimator;
+import antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter;
+import antistatic.spinnerwheel.adapters.WheelTextAdapter;
+import antistatic.spinnerwheel.adapters.WheelViewAdapter;
+import com.nineoldandroids.animation.ValueAnimator;
 
 
 /**
@@ -63,6 +66,52 @@ public abstract class AbstractWheelView extends AbstractWheel {
     
     protected static final int DEF_SELECTION_DIVIDER_SIZE = 2;
 
+    /**
+     * Items and separators are composed in two offscreen bitmaps, which are then blitted
+     * to the view canvas. Works on the software rendering path only.
+     */
+    public static final int COMPOSITING_BITMAP = 0;
+
+    /**
+     * Items and separators are drawn straight onto the view canvas, dimming is applied
+     * with a canvas layer. Suitable for hardware accelerated views.
+     */
+    public static final int COMPOSITING_LAYER = 1;
+
+    protected static final int DEF_COMPOSITING_MODE = COMPOSITING_BITMAP;
+
+    /**
+     * Items are views created by adapter
+     */
+    public static final int ITEM_RENDERING_VIEWS = 0;
+
+    /**
+     * Items of {@link WheelTextAdapter} are drawn as texts with a single paint, no item views
+     * are created. Other adapters are still shown with views.
+     */
+    public static final int ITEM_RENDERING_TEXT = 1;
+
+    /**
+     * Like {@link #ITEM_RENDERING_TEXT}, but digits and separators are drawn from glyphs
+     * rasterized once and shared by all the spinnerwheels with the same text style.
+     * Suits numeric and time wheels, labels with other characters are drawn as texts.
+     */
+    public static final int ITEM_RENDERING_GLYPHS = 2;
+
+    protected static final int DEF_ITEM_RENDERING = ITEM_RENDERING_VIEWS;
+
+    /** Rendered items are not cached by default */
+    protected static final int DEF_ITEM_CACHE_SIZE = 0;
+
+    /** Items are not drawn from strip by default */
+    protected static final int DEF_STRIP_MAX_ITEMS = 0;
+
+    /**
+     * Number of steps the selector coefficient is quantized to. Selector shaders for every step
+     * are built once per layout size, so dimming animation does not allocate anything.
+     */
+    protected static final int SELECTOR_SHADER_LEVELS = 64;
+
     //----------------------------------
     //  Class properties
     //----------------------------------
@@ -93,6 +142,18 @@ public abstract class AbstractWheelView extends AbstractWheel {
     /** Active coeff */
     protected float mActiveCoeff = 1f;
 
+    /** How items are composed with the selector gradient, one of COMPOSITING_* constants */
+    protected int mCompositingMode;
+
+    /** How items are drawn, one of ITEM_RENDERING_* constants */
+    protected int mItemRendering;
+
+    /** Maximum number of items drawn from strip, 0 if strip is not used */
+    protected int mStripMaxItems;
+
+    /** Styling of the selected item applied when drawing */
+    protected final WheelItemEmphasis mItemEmphasis = new WheelItemEmphasis();
+
     // the rest
 
     /**
@@ -106,29 +167,48 @@ public abstract class AbstractWheelView extends AbstractWheel {
     protected Paint mSeparatorsPaint;
 
     /**
-     * {@link com.nineoldandroids.animation.Animator} for dimming the selector spinnerwheel.
+     * {@link com.nineoldandroids.animation.ValueAnimator} for dimming the selector spinnerwheel.
+     * Runs from 0 to 1, the coefficient is interpolated between active and passive ones.
      */
-    protected Animator mDimSelectorWheelAnimator;
+    protected ValueAnimator mDimSelectorWheelAnimator;
 
     /**
-     * {@link com.nineoldandroids.animation.Animator} for dimming the selector spinnerwheel.
+     * {@link com.nineoldandroids.animation.ValueAnimator} for dimming the separators.
+     * Runs from 0 to 1, the alpha is interpolated between active and dimmed ones.
      */
-    protected Animator mDimSeparatorsAnimator;
+    protected ValueAnimator mDimSeparatorsAnimator;
 
-    /**
-     * The property for setting the selector paint.
-     */
-    protected static final String PROPERTY_SELECTOR_PAINT_COEFF = "selectorPaintCoeff";
+    /** Selector shaders for every quantized coefficient level, built by {@link #createSelectorShader(float)} */
+    private final Shader[] mSelectorShaders = new Shader[SELECTOR_SHADER_LEVELS + 1];
 
-    /**
-     * The property for setting the separators paint.
-     */
-    protected static final String PROPERTY_SEPARATORS_PAINT_ALPHA = "separatorsPaintAlpha";
+    /** Quantized level of the selector coefficient currently applied, -1 if none */
+    private int mSelectorShaderLevel = -1;
+
+    // geometry the cached selector shaders were built for
+    private int mShadersWidth;
+    private int mShadersHeight;
+    private int mShadersItemDimension;
+    private int mShadersVisibleItems;
+    private int mShadersDimmedAlpha;
 
 
     protected Bitmap mSpinBitmap;
     protected Bitmap mSeparatorsBitmap;
 
+    // canvases for the bitmaps above, used in COMPOSITING_BITMAP mode only
+    protected Canvas mSpinCanvas;
+    protected Canvas mSeparatorsCanvas;
+
+    // paint for items drawn as texts, styled by adapter
+    private final TextPaint mItemTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetricsInt mItemFontMetrics = new Paint.FontMetricsInt();
+
+    // glyphs for the item text paint, looked up again when text style changes
+    private WheelGlyphAtlas mGlyphAtlas;
+
+    // all the items rendered once, null if items are drawn otherwise
+    private WheelItemStrip mItemStrip;
+
 
     //--------------------------------------------------------------------------
     //
@@ -157,19 +237,42 @@ public abstract class AbstractWheelView extends AbstractWheel {
         mItemOffsetPercent = a.getInt(R.styleable.AbstractWheelView_itemOffsetPercent, DEF_ITEM_OFFSET_PERCENT);
         mItemsPadding = a.getDimensionPixelSize(R.styleable.AbstractWheelView_itemsPadding, DEF_ITEM_PADDING);
         mSelectionDivider = a.getDrawable(R.styleable.AbstractWheelView_selectionDivider);
+        mCompositingMode = a.getInt(R.styleable.AbstractWheelView_compositingMode, DEF_COMPOSITING_MODE);
+        mItemRendering = a.getInt(R.styleable.AbstractWheelView_itemRendering, DEF_ITEM_RENDERING);
+        int itemCacheSize = a.getInt(R.styleable.AbstractWheelView_itemCacheSize, DEF_ITEM_CACHE_SIZE);
+        mStripMaxItems = a.getInt(R.styleable.AbstractWheelView_stripMaxItems, DEF_STRIP_MAX_ITEMS);
+        mItemEmphasis.setSelectedScale(a.getFloat(R.styleable.AbstractWheelView_selectedItemScale, 1f));
+        mItemEmphasis.setUnselectedAlpha(a.getInt(R.styleable.AbstractWheelView_unselectedItemAlpha, 255));
         a.recycle();
+
+        if (itemCacheSize > 0) {
+            mItemCache = new WheelItemCache(itemCacheSize);
+        }
     }
 
     @Override
     protected void initData(Context context) {
         super.initData(context);
 
-        // creating animators
-        buildDimSelectorWheelAnimator();
-
-        mDimSeparatorsAnimator = ObjectAnimator.ofInt(this, PROPERTY_SEPARATORS_PAINT_ALPHA,
-                mSelectionDividerActiveAlpha, mSelectionDividerDimmedAlpha
-        );
+        // creating animators, they are driven by animated fraction so no reflection or boxing is involved
+        mDimSelectorWheelAnimator = ValueAnimator.ofFloat(0f, 1f);
+        mDimSelectorWheelAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                float fraction = animation.getAnimatedFraction();
+                setSelectorPaintCoeff(mActiveCoeff + (mPassiveCoeff - mActiveCoeff) * fraction);
+            }
+        });
+
+        mDimSeparatorsAnimator = ValueAnimator.ofFloat(0f, 1f);
+        mDimSeparatorsAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                float fraction = animation.getAnimatedFraction();
+                setSeparatorsPaintAlpha(Math.round(mSelectionDividerActiveAlpha
+                        + (mSelectionDividerDimmedAlpha - mSelectionDividerActiveAlpha) * fraction));
+            }
+        });
 
         // creating paints
         mSeparatorsPaint = new Paint();
@@ -180,10 +283,6 @@ public abstract class AbstractWheelView extends AbstractWheel {
         mSelectorWheelPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.DST_IN));
     }
 
-    private void buildDimSelectorWheelAnimator() {
-        mDimSelectorWheelAnimator = ObjectAnimator.ofFloat(this, PROPERTY_SELECTOR_PAINT_COEFF, mActiveCoeff, mPassiveCoeff);
-    }
-
     /**
      * Recreates assets (like bitmaps) when layout size has been changed
      *
@@ -192,8 +291,20 @@ public abstract class AbstractWheelView extends AbstractWheel {
      */
     @Override
     protected void recreateAssets(int width, int height) {
-        mSpinBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-        mSeparatorsBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        dropItemStrip();
+        onItemGeometryChanged();
+        if (mCompositingMode == COMPOSITING_BITMAP) {
+            mSpinBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mSeparatorsBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mSpinCanvas = new Canvas(mSpinBitmap);
+            mSeparatorsCanvas = new Canvas(mSeparatorsBitmap);
+        } else {
+            // layer compositing does not need intermediate bitmaps at all
+            mSpinBitmap = null;
+            mSeparatorsBitmap = null;
+            mSpinCanvas = null;
+            mSeparatorsCanvas = null;
+        }
         setSelectorPaintCoeff(mPassiveCoeff);
     }
 
@@ -202,19 +313,73 @@ public abstract class AbstractWheelView extends AbstractWheel {
      * spinnerwheel.
      * @param alpha alpha value from 0 to 255
      */
-    @SuppressWarnings("unused")  // Called via reflection
     public void setSeparatorsPaintAlpha(int alpha) {
-        mSeparatorsPaint.setAlpha(alpha);
-        invalidate();
+        if (mSeparatorsPaint.getAlpha() != alpha) {
+            mSeparatorsPaint.setAlpha(alpha);
+            invalidate();
+        }
     }
 
     /**
      * Sets the <code>coeff</code> of the {@link Paint} for drawing
-     * the selector spinnerwheel.
+     * the selector spinnerwheel. Coefficient is quantized to {@link #SELECTOR_SHADER_LEVELS}
+     * steps, shaders for them are cached.
+     *
+     * @param coeff Coefficient from 0 (selector is passive) to 1 (selector is active)
+     */
+    public void setSelectorPaintCoeff(float coeff) {
+        int level = Math.round(coeff * SELECTOR_SHADER_LEVELS);
+        if (level < 0) {
+            level = 0;
+        } else if (level > SELECTOR_SHADER_LEVELS) {
+            level = SELECTOR_SHADER_LEVELS;
+        }
+        boolean rebuilt = ensureSelectorShaders();
+        if (mShadersWidth == 0) {
+            return; // geometry is unknown yet, recreateAssets() will set the coeff again
+        }
+        if (rebuilt || level != mSelectorShaderLevel) {
+            mSelectorShaderLevel = level;
+            mSelectorWheelPaint.setShader(mSelectorShaders[level]);
+            invalidate();
+        }
+    }
+
+    /**
+     * Creates a shader for the selector paint. Called only when the spinnerwheel geometry
+     * changes, once for every quantized coefficient level.
      *
      * @param coeff Coefficient from 0 (selector is passive) to 1 (selector is active)
+     * @return the shader, or null if the selector should not dim items
      */
-    abstract protected void setSelectorPaintCoeff(float coeff);
+    abstract protected Shader createSelectorShader(float coeff);
+
+    /**
+     * Rebuilds cached selector shaders if the geometry they depend on has changed
+     *
+     * @return true if shaders were rebuilt
+     */
+    private boolean ensureSelectorShaders() {
+        int width = getMeasuredWidth();
+        int height = getMeasuredHeight();
+        int itemDimension = getItemDimension();
+        if (width == 0 || height == 0 || itemDimension == 0) {
+            return false; // not laid out yet
+        }
+        if (mShadersWidth == width && mShadersHeight == height && mShadersItemDimension == itemDimension
+                && mShadersVisibleItems == mVisibleItems && mShadersDimmedAlpha == mItemsDimmedAlpha) {
+            return false;
+        }
+        mShadersWidth = width;
+        mShadersHeight = height;
+        mShadersItemDimension = itemDimension;
+        mShadersVisibleItems = mVisibleItems;
+        mShadersDimmedAlpha = mItemsDimmedAlpha;
+        for (int i = 0; i <= SELECTOR_SHADER_LEVELS; i++) {
+            mSelectorShaders[i] = createSelectorShader(i / (float) SELECTOR_SHADER_LEVELS);
+        }
+        return true;
+    }
 
     public void setSelectionDivider(Drawable selectionDivider) {
         this.mSelectionDivider = selectionDivider;
@@ -222,12 +387,210 @@ public abstract class AbstractWheelView extends AbstractWheel {
 
     public void setActiveCoeff(float activeCoeff) {
         mActiveCoeff = activeCoeff;
-        buildDimSelectorWheelAnimator();
     }
 
     public void setPassiveCoeff(float passiveCoeff) {
         mPassiveCoeff = passiveCoeff;
-        buildDimSelectorWheelAnimator();
+    }
+
+    /**
+     * Gets the compositing mode
+     *
+     * @return one of {@link #COMPOSITING_BITMAP} or {@link #COMPOSITING_LAYER}
+     */
+    public int getCompositingMode() {
+        return mCompositingMode;
+    }
+
+    /**
+     * Sets how items are composed with the selector gradient and separators.
+     * Both modes produce the same output, {@link #COMPOSITING_LAYER} avoids the
+     * offscreen bitmaps and works with hardware acceleration.
+     *
+     * @param compositingMode one of {@link #COMPOSITING_BITMAP} or {@link #COMPOSITING_LAYER}
+     */
+    public void setCompositingMode(int compositingMode) {
+        if (mCompositingMode == compositingMode) {
+            return;
+        }
+        mCompositingMode = compositingMode;
+        if (getWidth() > 0 && getHeight() > 0) {
+            recreateAssets(getWidth(), getHeight());
+        }
+        invalidate();
+    }
+
+    /**
+     * Gets the item rendering mode
+     *
+     * @return one of {@link #ITEM_RENDERING_VIEWS}, {@link #ITEM_RENDERING_TEXT} or {@link #ITEM_RENDERING_GLYPHS}
+     */
+    public int getItemRendering() {
+        return mItemRendering;
+    }
+
+    /**
+     * Sets how items are drawn. With {@link #ITEM_RENDERING_TEXT} items of text adapters
+     * are laid out and drawn by the spinnerwheel, so binding an item is just getting its text.
+     * {@link #ITEM_RENDERING_GLYPHS} also skips text layout for numeric labels.
+     *
+     * @param itemRendering one of {@link #ITEM_RENDERING_VIEWS}, {@link #ITEM_RENDERING_TEXT}
+     *                      or {@link #ITEM_RENDERING_GLYPHS}
+     */
+    public void setItemRendering(int itemRendering) {
+        if (mItemRendering == itemRendering) {
+            return;
+        }
+        mItemRendering = itemRendering;
+        dropItemStrip();
+        invalidateItemsLayout(false);
+        requestLayout();
+    }
+
+    /**
+     * Gets maximum number of items drawn from strip
+     *
+     * @return the items count, 0 if strip is not used
+     */
+    public int getStripMaxItems() {
+        return mStripMaxItems;
+    }
+
+    /**
+     * Sets maximum number of items drawn from strip. All the items of adapters up to
+     * this size are rendered once into a strip, which is then drawn at the scrolling offset,
+     * so scrolling neither binds views nor lays them out. The strip is rendered again when
+     * adapter data or the spinnerwheel size change. Items are rendered with no current item,
+     * and with the extent of the first item unless item extent is set.
+     * The strip takes 4 bytes per pixel of all the items, so it suits minute or hour wheels.
+     *
+     * @param maxItems the items count, 0 to not use strip
+     */
+    public void setStripMaxItems(int maxItems) {
+        if (mStripMaxItems == maxItems) {
+            return;
+        }
+        mStripMaxItems = maxItems;
+        dropItemStrip();
+        invalidate();
+    }
+
+    /**
+     * Gets scale of the selected item
+     *
+     * @return the scale, 1 if items are not scaled
+     */
+    public float getSelectedItemScale() {
+        return mItemEmphasis.getSelectedScale();
+    }
+
+    /**
+     * Sets scale of the selected item. Items are scaled when drawn, by their distance
+     * to the selection center, so item views are not configured again when selection moves:
+     * once items are emphasized, text adapters stop styling the selected text view apart unless
+     * told otherwise by {@link antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter#setSelectionStyled(boolean)}.
+     *
+     * @param scale the scale, 1 to not scale items
+     */
+    public void setSelectedItemScale(float scale) {
+        mItemEmphasis.setSelectedScale(scale);
+        updateSelectionEmphasis();
+        invalidate();
+    }
+
+    /**
+     * Gets alpha of items out of the selection
+     *
+     * @return the alpha, 255 if items are not faded
+     */
+    public int getUnselectedItemAlpha() {
+        return mItemEmphasis.getUnselectedAlpha();
+    }
+
+    /**
+     * Sets alpha of items out of the selection, the selected item is opaque.
+     * Like scale, it is applied when drawing, by distance to the selection center.
+     * Item views are faded within a canvas layer each, texts and strip with paint alpha.
+     *
+     * @param alpha the alpha from 0 to 255, 255 to not fade items
+     */
+    public void setUnselectedItemAlpha(int alpha) {
+        mItemEmphasis.setUnselectedAlpha(alpha);
+        updateSelectionEmphasis();
+        invalidate();
+    }
+
+    /**
+     * Lets text adapter know if the selected item is emphasized when drawn, so its text views
+     * are not configured again when selection moves, see
+     * {@link antistatic.spinnerwheel.adapters.AbstractWheelTextAdapter#setSelectionEmphasized(boolean)}.
+     * Shown items are bound again if their styling changes.
+     */
+    private void updateSelectionEmphasis() {
+        if (!(mViewAdapter instanceof AbstractWheelTextAdapter)) {
+            return;
+        }
+        AbstractWheelTextAdapter adapter = (AbstractWheelTextAdapter) mViewAdapter;
+        boolean styled = adapter.isSelectionStyled();
+        adapter.setSelectionEmphasized(mItemEmphasis.isEnabled());
+        if (styled != adapter.isSelectionStyled()) {
+            invalidateItemsLayout(false);
+        }
+    }
+
+    @Override
+    public void setViewAdapter(WheelViewAdapter viewAdapter) {
+        super.setViewAdapter(viewAdapter);
+        updateSelectionEmphasis();
+    }
+
+    @Override
+    public void swapViewAdapter(WheelViewAdapter viewAdapter) {
+        super.swapViewAdapter(viewAdapter);
+        updateSelectionEmphasis();
+    }
+
+    @Override
+    public void setItemExtent(int extent) {
+        if (extent != mItemExtent) {
+            dropItemStrip();
+        }
+        super.setItemExtent(extent);
+    }
+
+    /**
+     * Gets size of the rendered item cache
+     *
+     * @return the size in bytes, 0 if items are not cached
+     */
+    public int getItemCacheSize() {
+        return mItemCache != null ? mItemCache.getMaxBytes() : 0;
+    }
+
+    /**
+     * Sets size of the rendered item cache. Once laid out, item views are rendered into bitmaps
+     * kept by item index and selected state, so an item scrolled in again is drawn with
+     * a single blit instead of being bound and measured. Least recently used bitmaps are
+     * evicted first, and adapter data changes drop the bitmaps of changed items.
+     * Changing spinnerwheel size, padding or item extent drops all the bitmaps.
+     * Item views must not change their look after binding, e.g. by animation.
+     *
+     * @param bytes the size in bytes, 0 to stop caching
+     */
+    public void setItemCacheSize(int bytes) {
+        if (bytes == getItemCacheSize()) {
+            return;
+        }
+        if (bytes <= 0) {
+            mItemCache = null;
+        } else if (mItemCache != null) {
+            mItemCache.setMaxBytes(bytes);
+            return;
+        } else {
+            mItemCache = new WheelItemCache(bytes);
+        }
+        // views bound so far are rendered or dropped from the window
+        invalidateItemsLayout(false);
     }
 
     //--------------------------------------------------------------------------
@@ -310,10 +673,17 @@ public abstract class AbstractWheelView extends AbstractWheel {
         super.onDraw(canvas);
 
         if (mViewAdapter != null && mViewAdapter.getItemsCount() > 0) {
-            if (rebuildItems()) {
+            if (mItemStrip == null && isStripRenderable()) {
+                createItemStrip();
+            }
+            boolean views = !isTextRendering() && !isStripRendering();
+            if (rebuildItems() && views) {
                 measureLayout();
             }
-            doItemsLayout();
+            if (views) {
+                doItemsLayout();
+                renderItems();
+            }
             drawItems(canvas);
         }
     }
@@ -323,5 +693,322 @@ public abstract class AbstractWheelView extends AbstractWheel {
      *
      * @param canvas the canvas for drawing
      */
-    abstract protected void drawItems(Canvas canvas);
+    protected void drawItems(Canvas canvas) {
+        if (mSelectorShaderLevel >= 0 && ensureSelectorShaders()) {
+            // item size or visible items changed since the selector was set up
+            mSelectorWheelPaint.setShader(mSelectorShaders[mSelectorShaderLevel]);
+        }
+        if (mCompositingMode == COMPOSITING_LAYER) {
+            drawItemsOnLayers(canvas);
+        } else {
+            drawItemsOnBitmaps(canvas);
+        }
+    }
+
+    /**
+     * Composes items and separators in the intermediate bitmaps and blits them to the canvas
+     *
+     * @param canvas the canvas for drawing
+     */
+    private void drawItemsOnBitmaps(Canvas canvas) {
+        int w = getMeasuredWidth();
+        int h = getMeasuredHeight();
+
+        // resetting intermediate bitmaps
+        mSpinBitmap.eraseColor(0);
+        mSpinCanvas.save();
+        drawItemsLayout(mSpinCanvas);
+        mSpinCanvas.restore();
+        mSpinCanvas.drawRect(0, 0, w, h, mSelectorWheelPaint);
+
+        mSeparatorsBitmap.eraseColor(0);
+        if (mSelectionDivider != null) {
+            drawSelectionDividers(mSeparatorsCanvas);
+        }
+        mSeparatorsCanvas.drawRect(0, 0, w, h, mSeparatorsPaint);
+
+        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
+        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
+    }
+
+    /**
+     * Draws items and separators straight onto the canvas, masking them in canvas layers.
+     * Layers stay on the GPU when the view is hardware accelerated.
+     *
+     * @param canvas the canvas for drawing
+     */
+    private void drawItemsOnLayers(Canvas canvas) {
+        int w = getMeasuredWidth();
+        int h = getMeasuredHeight();
+
+        // items masked by the selector gradient (DST_IN)
+        int saveCount = canvas.saveLayer(0, 0, w, h, null, Canvas.ALL_SAVE_FLAG);
+        canvas.save();
+        drawItemsLayout(canvas);
+        canvas.restore();
+        canvas.drawRect(0, 0, w, h, mSelectorWheelPaint);
+        canvas.restoreToCount(saveCount);
+
+        // separators masked with a flat alpha, that is exactly what DST_IN with a plain paint does
+        int alpha = mSeparatorsPaint.getAlpha();
+        if (mSelectionDivider != null && alpha > 0) {
+            saveCount = canvas.saveLayerAlpha(0, 0, w, h, alpha, Canvas.ALL_SAVE_FLAG);
+            drawSelectionDividers(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    //----------------------------------
+    //  Strip rendering
+    //----------------------------------
+
+    @Override
+    protected boolean isStripRendering() {
+        return mItemStrip != null;
+    }
+
+    @Override
+    protected void onItemsChanged() {
+        dropItemStrip();
+    }
+
+    /**
+     * Tests if the strip can be rendered now, that is adapter is small enough
+     * and items have been measured for the current size
+     *
+     * @return true if the strip can be rendered
+     */
+    private boolean isStripRenderable() {
+        int count = mViewAdapter.getItemsCount();
+        return count > 0 && count <= mStripMaxItems && !isTextRendering()
+                && mItems != null && mItems.getCrossMeasureSpec() != -1;
+    }
+
+    /**
+     * Renders views of all the items into the strip, measured the way shown views are
+     */
+    private void createItemStrip() {
+        WheelItemWindow window = new WheelItemWindow(mItems.getOrientation());
+        if (!bindAllItems(window)) {
+            return;
+        }
+        int crossMeasureSpec = mItems.getCrossMeasureSpec();
+        window.setFixedExtent(mItemExtent);
+        window.measure(crossMeasureSpec);
+        int extent = mItemExtent > 0 ? mItemExtent : window.getItemExtent(0);
+        if (extent > 0) {
+            if (mItemExtent == 0) {
+                // every item gets the extent of the first one, as shown views are spaced
+                window.setFixedExtent(extent);
+                window.measure(crossMeasureSpec);
+            }
+            window.layout();
+            mItemStrip = new WheelItemStrip(window, extent);
+        }
+        recycleAllItems(window);
+    }
+
+    /**
+     * Drops the strip, it is rendered again on next drawing if possible
+     */
+    private void dropItemStrip() {
+        if (mItemStrip != null) {
+            mItemStrip.recycle();
+            mItemStrip = null;
+            invalidate();
+        }
+    }
+
+    /**
+     * Gets extent of items in the strip
+     *
+     * @return the item extent along the orientation axis
+     */
+    protected int getStripItemExtent() {
+        return mItemStrip.getItemExtent();
+    }
+
+    /**
+     * Gets size of the strip across the orientation axis
+     *
+     * @return the size, items padding is not included
+     */
+    protected int getStripCrossSize() {
+        return mItemStrip.getCrossSize();
+    }
+
+    /**
+     * Draws the strip along the orientation axis
+     *
+     * @param canvas the canvas for drawing
+     * @param currentOffset the offset the current item starts at, scrolling offset included
+     */
+    protected void drawItemStrip(Canvas canvas, int currentOffset) {
+        int offset = currentOffset - (int) getCurrentItemLong() * mItemStrip.getItemExtent();
+        int extent = getBaseDimension();
+        mItemStrip.draw(canvas, offset, extent, mIsCyclic, getItemEmphasis(), extent / 2f);
+    }
+
+    /**
+     * Gets emphasis items are drawn with
+     *
+     * @return the emphasis, null if items are drawn as they are
+     */
+    protected WheelItemEmphasis getItemEmphasis() {
+        return mItemEmphasis.isEnabled() ? mItemEmphasis : null;
+    }
+
+    //----------------------------------
+    //  Text rendering
+    //----------------------------------
+
+    @Override
+    protected boolean isTextRendering() {
+        return (mItemRendering == ITEM_RENDERING_TEXT || mItemRendering == ITEM_RENDERING_GLYPHS)
+                && isTextRenderableAdapter();
+    }
+
+    /**
+     * Styles the item text paint the way adapter styles item text views
+     *
+     * @return the paint
+     */
+    protected TextPaint getItemTextPaint() {
+        WheelTextAdapter adapter = (WheelTextAdapter) mViewAdapter;
+        mItemTextPaint.setTextSize(adapter.getTextSize() * getResources().getDisplayMetrics().scaledDensity);
+        mItemTextPaint.setTypeface(adapter.getTextTypeface());
+        mItemTextPaint.setTextAlign(Paint.Align.CENTER);
+        return mItemTextPaint;
+    }
+
+    /**
+     * Gets height of item text line, the height single line text view would have
+     *
+     * @return the line height
+     */
+    protected int getItemTextHeight() {
+        getItemTextPaint().getFontMetricsInt(mItemFontMetrics);
+        return mItemFontMetrics.bottom - mItemFontMetrics.top;
+    }
+
+    /**
+     * Gets width of item texts, the widest item if adapter knows it or the widest shown item otherwise
+     *
+     * @return the text width
+     */
+    protected int getItemTextWidth() {
+        int width = getWidestItemWidth(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        if (width >= 0) {
+            return width;
+        }
+        TextPaint paint = getItemTextPaint();
+        // not the items range, it may depend on item size
+        int first = mCurrentItemIdx - mVisibleItems / 2;
+        for (int position = first; position <= first + mVisibleItems; position++) {
+            CharSequence label = getItemLabel(position);
+            if (label != null) {
+                width = Math.max(width, (int) Math.ceil(paint.measureText(label, 0, label.length())));
+            }
+        }
+        return Math.max(width, 0);
+    }
+
+    @Override
+    protected int measureItemWidth(int index, int widthMeasureSpec) {
+        if (!isTextRendering()) {
+            return super.measureItemWidth(index, widthMeasureSpec);
+        }
+        CharSequence label = ((WheelTextAdapter) mViewAdapter).getItemLabel(index);
+        if (label == null) {
+            return -1;
+        }
+        if (mViewAdapter instanceof AbstractWheelTextAdapter) {
+            // measured on the precompute executor, if the adapter has one
+            float width = ((AbstractWheelTextAdapter) mViewAdapter).getPrecomputedTextWidth(index);
+            if (width >= 0) {
+                return (int) Math.ceil(width);
+            }
+        }
+        return (int) Math.ceil(getItemTextPaint().measureText(label, 0, label.length()));
+    }
+
+    /**
+     * Draws texts of shown items. Item at position p is centered at
+     * (centerX + (p - current) * stepX, centerY + (p - current) * stepY).
+     *
+     * @param canvas the canvas for drawing
+     * @param centerX the x of the current item center
+     * @param centerY the y of the current item center
+     * @param stepX the x distance between item centers
+     * @param stepY the y distance between item centers
+     */
+    protected void drawItemLabels(Canvas canvas, float centerX, float centerY, float stepX, float stepY) {
+        WheelTextAdapter adapter = (WheelTextAdapter) mViewAdapter;
+        TextPaint paint = getItemTextPaint();
+        paint.getFontMetricsInt(mItemFontMetrics);
+        // centering the line box, as gravity of item text views does
+        float baselineShift = - (mItemFontMetrics.top + mItemFontMetrics.bottom) / 2f;
+        WheelGlyphAtlas atlas = mItemRendering == ITEM_RENDERING_GLYPHS ? getGlyphAtlas(paint) : null;
+        WheelItemEmphasis emphasis = getItemEmphasis();
+
+        ItemsRange range = getItemsRange();
+        for (int position = range.getFirst(); position <= range.getLast(); position++) {
+            CharSequence label = getItemLabel(position);
+            if (label == null) {
+                continue; // empty item
+            }
+            int color = isItemPositionEnabled(position) ? adapter.getTextColor() : adapter.getDisabledTextColor();
+            paint.setColor(color);
+            int shift = position - mCurrentItemIdx;
+            float x = centerX + shift * stepX;
+            float y = centerY + shift * stepY + baselineShift;
+            int saveCount = -1;
+            if (emphasis != null) {
+                // one of the distances is 0, items are stepped along one axis
+                float distance = x - getWidth() / 2f + y - baselineShift - getHeight() / 2f;
+                float factor = emphasis.getFactor(distance, stepX + stepY);
+                float scale = emphasis.getScale(factor);
+                paint.setAlpha(Color.alpha(color) * emphasis.getAlpha(factor) / 255);
+                if (scale != 1f) {
+                    saveCount = canvas.save();
+                    canvas.scale(scale, scale, x, y - baselineShift);
+                }
+            }
+            if (atlas != null && atlas.canDraw(label)) {
+                atlas.draw(canvas, label, x, y, paint);
+            } else {
+                canvas.drawText(label, 0, label.length(), x, y, paint);
+            }
+            if (saveCount >= 0) {
+                canvas.restoreToCount(saveCount);
+            }
+        }
+    }
+
+    /**
+     * Gets shared glyph atlas for the text style of paint
+     *
+     * @param paint the item text paint
+     * @return the atlas
+     */
+    private WheelGlyphAtlas getGlyphAtlas(TextPaint paint) {
+        if (mGlyphAtlas == null || !mGlyphAtlas.matches(paint)) {
+            mGlyphAtlas = WheelGlyphAtlas.get(paint);
+        }
+        return mGlyphAtlas;
+    }
+
+    /**
+     * Draws items layout on specified canvas, translated according to current item and scrolling offset
+     *
+     * @param canvas the canvas for drawing
+     */
+    abstract protected void drawItemsLayout(Canvas canvas);
+
+    /**
+     * Draws selection dividers on specified canvas
+     *
+     * @param canvas the canvas for drawing
+     */
+    abstract protected void drawSelectionDividers(Canvas canvas);
 }
@@ -0,0 +1,143 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.view.View;
+
+/**
+ * Detached views still bound to their items, looked up by item index.
+ * Holds a few views only, so lookups are linear.
+ */
+class BoundViews {
+
+    private long[] mIndices = new long[8];
+    private View[] mViews = new View[8];
+    private int mSize;
+
+    /**
+     * Gets number of views
+     * @return the views count
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Gets item index of view at given position
+     * @param i the position
+     * @return the item index
+     */
+    long indexAt(int i) {
+        return mIndices[i];
+    }
+
+    /**
+     * Adds view bound to item
+     * @param index the item index
+     * @param view the view
+     */
+    void put(long index, View view) {
+        if (mSize == mViews.length) {
+            long[] indices = new long[mSize * 2];
+            View[] views = new View[mSize * 2];
+            System.arraycopy(mIndices, 0, indices, 0, mSize);
+            System.arraycopy(mViews, 0, views, 0, mSize);
+            mIndices = indices;
+            mViews = views;
+        }
+        mIndices[mSize] = index;
+        mViews[mSize] = view;
+        mSize++;
+    }
+
+    /**
+     * Tests if there is a view bound to item
+     * @param index the item index
+     * @return true if view exists
+     */
+    boolean contains(long index) {
+        for (int i = 0; i < mSize; i++) {
+            if (mIndices[i] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes view bound to item
+     * @param index the item index
+     * @return the view or null if there is no such view
+     */
+    View take(long index) {
+        for (int i = 0; i < mSize; i++) {
+            if (mIndices[i] == index) {
+                return removeAt(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes view at given position. The last view takes its position.
+     * @param i the position
+     * @return the removed view
+     */
+    View removeAt(int i) {
+        View view = mViews[i];
+        mSize--;
+        mIndices[i] = mIndices[mSize];
+        mViews[i] = mViews[mSize];
+        mViews[mSize] = null;
+        return view;
+    }
+
+    /**
+     * Follows items inserted or removed, views of removed items are dropped
+     * @param start the index of the first inserted or removed item
+     * @param count the number of inserted or removed items
+     * @param delta the index shift of items after start, negative for removal
+     * @param recycler the recycler to move dropped views to
+     */
+    void move(long start, long count, long delta, WheelRecycler recycler) {
+        for (int i = mSize - 1; i >= 0; i--) {
+            if (mIndices[i] < start) {
+                continue;
+            }
+            if (delta < 0 && mIndices[i] < start + count) {
+                recycler.recycle(removeAt(i));
+            } else {
+                mIndices[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Removes all views
+     * @param recycler the recycler to move views to, null to drop them
+     */
+    void clear(WheelRecycler recycler) {
+        for (int i = 0; i < mSize; i++) {
+            if (recycler != null) {
+                recycler.recycle(mViews[i]);
+            }
+            mViews[i] = null;
+        }
+        mSize = 0;
+    }
+}
@@ -83,4 +83,14 @@ package antistatic.spinnerwheel;
         public boolean contains(int index) {
             return index >= getFirst() && index <= getLast();
         }
+
+        /**
+         * Updates the range in place, so a single instance can be reused while scrolling
+         * @param first the number of first item
+         * @param count the count of items
+         */
+        void set(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
 }
\ No newline at end of file
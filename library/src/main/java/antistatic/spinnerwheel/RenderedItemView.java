@@ -0,0 +1,64 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+/**
+ * Item view showing bitmap of an item rendered before, see {@link WheelItemCache}.
+ * Binding it is setting the bitmap, drawing it is a single blit.
+ */
+class RenderedItemView extends View {
+
+    private Bitmap mBitmap;
+
+    RenderedItemView(Context context) {
+        super(context);
+    }
+
+    /**
+     * Shows rendered item, taking its layout params so margins stay the same
+     * @param entry the rendered item
+     */
+    void setItem(WheelItemCache.Entry entry) {
+        mBitmap = entry.bitmap;
+        if (entry.layoutParams != null) {
+            setLayoutParams(entry.layoutParams);
+        }
+        requestLayout();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mBitmap == null) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        } else {
+            setMeasuredDimension(mBitmap.getWidth(), mBitmap.getHeight());
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mBitmap != null) {
+            canvas.drawBitmap(mBitmap, 0, 0, null);
+        }
+    }
+}
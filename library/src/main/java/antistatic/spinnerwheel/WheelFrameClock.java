@@ -0,0 +1,216 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Frame clock shared by all the spinnerwheels of the process.
+ * Listeners are advanced together in a single frame callback, aligned to display vsync
+ * on Jelly Bean and newer. Older platforms fall back to a handler ticking at a fixed rate.
+ * Must be used from the main thread only.
+ */
+public class WheelFrameClock {
+
+    /**
+     * Frame listener interface
+     */
+    public interface FrameListener {
+        /**
+         * Called once per frame while listener is registered
+         * @param frameTimeNanos the frame time, in the {@link System#nanoTime()} time base
+         */
+        void onFrame(long frameTimeNanos);
+    }
+
+    /** Frame interval assumed until real frames are observed, 60 Hz */
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    /** Gaps longer than this are idle periods, not frames */
+    private static final long MAX_FRAME_INTERVAL_NANOS = 100000000L;
+
+    private static WheelFrameClock sInstance;
+
+    // Registered listeners
+    private final ArrayList<FrameListener> mListeners = new ArrayList<FrameListener>();
+
+    // Listeners snapshot being dispatched, reused between frames
+    private FrameListener[] mDispatching = new FrameListener[4];
+
+    private final Driver mDriver;
+    // Kept apart from the driver type, checking it would load Choreographer on older platforms
+    private final boolean mVsyncDriven;
+    private boolean mScheduled;
+
+    private long mLastFrameTimeNanos;
+    private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+
+    /**
+     * Gets the clock instance
+     * @return the shared clock
+     */
+    public static WheelFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new WheelFrameClock();
+        }
+        return sInstance;
+    }
+
+    private WheelFrameClock() {
+        mVsyncDriven = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN;
+        if (mVsyncDriven) {
+            mDriver = new ChoreographerDriver();
+        } else {
+            mDriver = new HandlerDriver();
+        }
+    }
+
+    /**
+     * Registers listener to be called on every frame, starting from the next one
+     * @param listener the listener
+     */
+    public void addListener(FrameListener listener) {
+        if (!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+        if (!mScheduled) {
+            mScheduled = true;
+            mDriver.schedule();
+        }
+    }
+
+    /**
+     * Unregisters frame listener. The frame callback is not posted anymore once no listeners left.
+     * @param listener the listener
+     */
+    public void removeListener(FrameListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * Tests if frames are aligned to display vsync. Otherwise they are ticked by a handler.
+     * @return true if frames are dispatched by Choreographer
+     */
+    public boolean isVsyncDriven() {
+        return mVsyncDriven;
+    }
+
+    /**
+     * Gets time of the last dispatched frame
+     * @return frame time in nanoseconds, {@link System#nanoTime()} time base
+     */
+    public long getLastFrameTimeNanos() {
+        return mLastFrameTimeNanos;
+    }
+
+    /**
+     * Gets estimated interval between frames, follows the actual display refresh rate
+     * @return frame interval in nanoseconds
+     */
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    /**
+     * Dispatches frame posted by the driver and posts the next one if listeners are left
+     * @param frameTimeNanos the frame time
+     */
+    private void doFrame(long frameTimeNanos) {
+        mScheduled = false;
+
+        dispatchFrame(frameTimeNanos);
+
+        if (!mListeners.isEmpty() && !mScheduled) {
+            mScheduled = true;
+            mDriver.schedule();
+        }
+    }
+
+    /**
+     * Dispatches frame to all the registered listeners. Frames are not posted from here,
+     * so tests may call it to run frames synchronously.
+     * @param frameTimeNanos the frame time
+     */
+    void dispatchFrame(long frameTimeNanos) {
+        long interval = frameTimeNanos - mLastFrameTimeNanos;
+        if (mLastFrameTimeNanos != 0 && interval > 0 && interval < MAX_FRAME_INTERVAL_NANOS) {
+            // smoothing, so a single dropped frame does not halve the rate
+            mFrameIntervalNanos = (mFrameIntervalNanos * 3 + interval) / 4;
+        }
+        mLastFrameTimeNanos = frameTimeNanos;
+
+        // listeners may unregister themselves while being dispatched
+        int count = mListeners.size();
+        if (mDispatching.length < count) {
+            mDispatching = new FrameListener[count * 2];
+        }
+        mListeners.toArray(mDispatching);
+        for (int i = 0; i < count; i++) {
+            FrameListener listener = mDispatching[i];
+            mDispatching[i] = null;
+            listener.onFrame(frameTimeNanos);
+        }
+    }
+
+    /**
+     * Posts frame callbacks
+     */
+    private interface Driver {
+        void schedule();
+    }
+
+    /**
+     * Vsync aligned driver, available from Jelly Bean.
+     * Kept in a separate class so older platforms never load Choreographer.
+     */
+    private class ChoreographerDriver implements Driver, Choreographer.FrameCallback {
+        private final Choreographer mChoreographer = Choreographer.getInstance();
+
+        @Override
+        public void schedule() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            WheelFrameClock.this.doFrame(frameTimeNanos);
+        }
+    }
+
+    /**
+     * Fallback driver for platforms without Choreographer
+     */
+    private class HandlerDriver implements Driver, Runnable {
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void schedule() {
+            mHandler.postDelayed(this, DEFAULT_FRAME_INTERVAL_NANOS / 1000000L);
+        }
+
+        @Override
+        public void run() {
+            doFrame(System.nanoTime());
+        }
+    }
+}
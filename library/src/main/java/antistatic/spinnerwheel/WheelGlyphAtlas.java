@@ -0,0 +1,212 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Glyphs of digits and a few separators rasterized once into an alpha mask.
+ * Labels made of these characters are drawn by blitting glyph cells, tinted with
+ * the paint color, so no text layout is done per label. Atlases are shared by all
+ * the spinnerwheels of the process, one per typeface and text size.
+ * Must be used from the main thread only.
+ */
+class WheelGlyphAtlas {
+
+    /** Characters the atlas has glyphs for */
+    static final String GLYPHS = "0123456789 +-.,:/";
+
+    /** Number of atlases kept, least recently used ones are dropped */
+    private static final int MAX_ATLASES = 8;
+
+    // Free pixels around every glyph, for glyphs overhanging their advance
+    private static final int CELL_PADDING = 1;
+
+    private static final LinkedHashMap<Object, WheelGlyphAtlas> sAtlases =
+            new LinkedHashMap<Object, WheelGlyphAtlas>(MAX_ATLASES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, WheelGlyphAtlas> eldest) {
+                    return size() > MAX_ATLASES;
+                }
+            };
+
+    private final Typeface mTypeface;
+    private final float mTextSize;
+
+    private final Bitmap mBitmap;
+    private final float[] mAdvances = new float[GLYPHS.length()];
+    private final int[] mCellLefts = new int[GLYPHS.length()];
+    private final int[] mCellWidths = new int[GLYPHS.length()];
+    // top and bottom of the cells, relative to the baseline
+    private final int mTop;
+    private final int mBottom;
+
+    private final Rect mSrc = new Rect();
+    private final RectF mDst = new RectF();
+
+    /**
+     * Gets shared atlas for the text style of given paint
+     *
+     * @param paint the paint, its typeface and text size are used
+     * @return the atlas
+     */
+    static WheelGlyphAtlas get(Paint paint) {
+        Typeface typeface = paint.getTypeface();
+        float textSize = paint.getTextSize();
+        Object key = new Key(typeface, textSize);
+        WheelGlyphAtlas atlas = sAtlases.get(key);
+        if (atlas == null) {
+            atlas = new WheelGlyphAtlas(typeface, textSize);
+            sAtlases.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    /**
+     * Rasterizes glyphs
+     *
+     * @param typeface the typeface
+     * @param textSize the text size in pixels
+     */
+    private WheelGlyphAtlas(Typeface typeface, float textSize) {
+        mTypeface = typeface;
+        mTextSize = textSize;
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTypeface(typeface);
+        paint.setTextSize(textSize);
+        Paint.FontMetricsInt metrics = paint.getFontMetricsInt();
+        mTop = metrics.top - CELL_PADDING;
+        mBottom = metrics.bottom + CELL_PADDING;
+
+        int width = 0;
+        char[] glyph = new char[1];
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyph[0] = GLYPHS.charAt(i);
+            mAdvances[i] = paint.measureText(glyph, 0, 1);
+            mCellLefts[i] = width;
+            mCellWidths[i] = (int) Math.ceil(mAdvances[i]) + 2 * CELL_PADDING;
+            width += mCellWidths[i];
+        }
+
+        mBitmap = Bitmap.createBitmap(Math.max(1, width), Math.max(1, mBottom - mTop), Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(mBitmap);
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyph[0] = GLYPHS.charAt(i);
+            canvas.drawText(glyph, 0, 1, mCellLefts[i] + CELL_PADDING, -mTop, paint);
+        }
+    }
+
+    /**
+     * Tests if glyphs have been rasterized with the text style of paint
+     *
+     * @param paint the paint
+     * @return true if the atlas is the one {@link #get(Paint)} would return
+     */
+    boolean matches(Paint paint) {
+        return mTypeface == paint.getTypeface() && mTextSize == paint.getTextSize();
+    }
+
+    /**
+     * Tests if the atlas has glyphs for all the characters of label
+     *
+     * @param label the label
+     * @return true if label can be drawn from the atlas
+     */
+    boolean canDraw(CharSequence label) {
+        for (int i = 0; i < label.length(); i++) {
+            if (GLYPHS.indexOf(label.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Measures label the way it is drawn, by glyph advances
+     *
+     * @param label the label, see {@link #canDraw(CharSequence)}
+     * @return the width
+     */
+    float measure(CharSequence label) {
+        float width = 0;
+        for (int i = 0; i < label.length(); i++) {
+            width += mAdvances[GLYPHS.indexOf(label.charAt(i))];
+        }
+        return width;
+    }
+
+    /**
+     * Draws label centered horizontally
+     *
+     * @param canvas the canvas for drawing
+     * @param label the label, see {@link #canDraw(CharSequence)}
+     * @param centerX the x of the label center
+     * @param baseline the y of the baseline
+     * @param paint the paint, its color tints the glyphs
+     */
+    void draw(Canvas canvas, CharSequence label, float centerX, float baseline, Paint paint) {
+        // whole pixels keep glyphs as sharp as they have been rasterized
+        float x = Math.round(centerX - measure(label) / 2);
+        float y = Math.round(baseline);
+        for (int i = 0; i < label.length(); i++) {
+            int glyph = GLYPHS.indexOf(label.charAt(i));
+            int left = mCellLefts[glyph];
+            mSrc.set(left, 0, left + mCellWidths[glyph], mBottom - mTop);
+            float cellLeft = Math.round(x) - CELL_PADDING;
+            mDst.set(cellLeft, y + mTop, cellLeft + mCellWidths[glyph], y + mBottom);
+            canvas.drawBitmap(mBitmap, mSrc, mDst, paint);
+            x += mAdvances[glyph];
+        }
+    }
+
+    /**
+     * Key of shared atlas
+     */
+    private static class Key {
+        private final Typeface typeface;
+        private final float textSize;
+
+        Key(Typeface typeface, float textSize) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return textSize == key.textSize
+                    && (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (typeface != null ? typeface.hashCode() : 0) + Float.floatToIntBits(textSize);
+        }
+    }
+}
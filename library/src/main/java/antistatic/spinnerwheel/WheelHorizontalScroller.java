@@ -38,16 +38,6 @@ public class WheelHorizontalScroller extends WheelScroller {
         super(context, listener);
     }
 
-    @Override
-    protected int getCurrentScrollerPosition() {
-        return scroller.getCurrX();
-    }
-
-    @Override
-    protected int getFinalScrollerPosition() {
-        return scroller.getFinalX();
-    }
-
     @Override
     protected float getMotionEventPosition(MotionEvent event) {
         // should be overriden
@@ -55,14 +45,7 @@ public class WheelHorizontalScroller extends WheelScroller {
     }
 
     @Override
-    protected void scrollerStartScroll(int distance, int time) {
-        scroller.startScroll(0, 0, distance, 0, time);
-    }
-
-    @Override
-    protected void scrollerFling(int position, int velocityX, int velocityY) {
-        final int maxPosition = 0x7FFFFFFF;
-        final int minPosition = -maxPosition;
-        scroller.fling(position, 0, -velocityX, 0, minPosition, maxPosition, 0, 0);
+    protected float getHistoricalMotionEventPosition(MotionEvent event, int pos) {
+        return event.getHistoricalX(pos);
     }
 }
@@ -57,6 +57,9 @@ public class WheelHorizontalView extends AbstractWheelView {
     // Item width
     private int itemWidth = 0;
 
+    // Item width in text rendering, kept apart as labels and views are sized differently
+    private int itemTextWidth = 0;
+
     //--------------------------------------------------------------------------
     //
     //  Constructors
@@ -114,11 +117,9 @@ public class WheelHorizontalView extends AbstractWheelView {
     }
 
     @Override
-    public void setSelectorPaintCoeff(float coeff) {
+    protected Shader createSelectorShader(float coeff) {
         if (mItemsDimmedAlpha >= 100)
-            return;
-
-        LinearGradient shader;
+            return null;
 
         int w = getMeasuredWidth();
         int iw = getItemDimension();
@@ -132,7 +133,7 @@ public class WheelHorizontalView extends AbstractWheelView {
             int c2 = Math.round( z ) << 24;
             int[] colors =      {c2, c1, 0xff000000, 0xff000000, c1, c2};
             float[] positions = { 0, p1,     p1,         p2,     p2,  1};
-            shader = new LinearGradient(0, 0, w, 0, colors, positions, Shader.TileMode.CLAMP);
+            return new LinearGradient(0, 0, w, 0, colors, positions, Shader.TileMode.CLAMP);
         } else {
             float p3 = (1 - iw*3/(float) w)/2;
             float p4 = (1 + iw*3/(float) w)/2;
@@ -147,10 +148,8 @@ public class WheelHorizontalView extends AbstractWheelView {
 
             int[] colors = { c2, c2, c2, c2, 0xff000000, 0xff000000, c2, c2, c2, c2 };
             float[] positions = { 0, p3, p3, p1, p1, p2, p2, p4, p4, 1 };
-            shader = new LinearGradient(0, 0, w, 0, colors, positions, Shader.TileMode.CLAMP);
+            return new LinearGradient(0, 0, w, 0, colors, positions, Shader.TileMode.CLAMP);
         }
-        mSelectorWheelPaint.setShader(shader);
-        invalidate();
     }
 
 
@@ -188,12 +187,29 @@ public class WheelHorizontalView extends AbstractWheelView {
      */
     @Override
     protected int getItemDimension() {
+        if (mItemExtent > 0) {
+            return mItemExtent;
+        }
+        if (isStripRendering()) {
+            return getStripItemExtent();
+        }
+        if (isTextRendering()) {
+            int width = getWidestItemWidth(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+            if (width < 0) {
+                // sized by items shown first, as item views are
+                if (itemTextWidth == 0) {
+                    itemTextWidth = getItemTextWidth();
+                }
+                width = itemTextWidth;
+            }
+            return width;
+        }
         if (itemWidth != 0) {
             return itemWidth;
         }
 
-        if (mItemsLayout != null && mItemsLayout.getChildAt(0) != null) {
-            itemWidth = mItemsLayout.getChildAt(0).getMeasuredWidth();
+        if (mItems != null && mItems.size() > 0) {
+            itemWidth = mItems.get(0).getMeasuredWidth();
             return itemWidth;
         }
 
@@ -210,12 +226,12 @@ public class WheelHorizontalView extends AbstractWheelView {
     @Override
     protected void onScrollTouchedUp() {
         super.onScrollTouchedUp();
-        int cnt = mItemsLayout.getChildCount();
+        int cnt = mItems.size();
         View itm;
-        Log.e(LOG_TAG, " ----- layout: " + mItemsLayout.getMeasuredWidth() + mItemsLayout.getMeasuredHeight());
+        Log.e(LOG_TAG, " ----- layout: " + mItems.getMeasuredWidth() + mItems.getMeasuredHeight());
         Log.e(LOG_TAG, " -------- dumping " + cnt + " items");
         for (int i = 0; i < cnt; i++) {
-            itm = mItemsLayout.getChildAt(i);
+            itm = mItems.get(i);
             Log.e(LOG_TAG, " item #" + i + ": " + itm.getWidth() + "x" + itm.getHeight());
             itm.forceLayout(); // forcing layout without re-rendering parent
         }
@@ -230,33 +246,32 @@ public class WheelHorizontalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     /**
-     * Creates item layouts if necessary
+     * Creates items window if necessary
      */
     @Override
     protected void createItemsLayout() {
+        if (mItems == null) {
+            mItems = new WheelItemWindow(LinearLayout.HORIZONTAL);
+        }
         if (mItemsLayout == null) {
             mItemsLayout = new LinearLayout(getContext());
             mItemsLayout.setOrientation(LinearLayout.HORIZONTAL);
+            // set once, measuring passes reuse them
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         }
     }
 
     @Override
     protected void doItemsLayout() {
-        mItemsLayout.layout(0, 0, getMeasuredWidth(), getMeasuredHeight() - 2 * mItemsPadding);
+        mItems.layout();
     }
 
     @Override
     protected void measureLayout() {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        // XXX: Locating bug
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(getWidth() + getItemDimension(), MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.AT_MOST));
+        // the same spec as the final onMeasure() pass, so views already measured are left alone
+        mItems.measure(MeasureSpec.makeMeasureSpec(getHeight() - 2 * mItemsPadding, MeasureSpec.EXACTLY));
     }
 
-    //XXX: Most likely, measurements of mItemsLayout or/and its children are done inconrrectly.
-    // Investigate and fix it
-
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -292,17 +307,18 @@ public class WheelHorizontalView extends AbstractWheelView {
      * @return the calculated control height
      */
     private int calculateLayoutHeight(int heightSize, int mode) {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(heightSize, MeasureSpec.UNSPECIFIED)
-                );
-        int height = mItemsLayout.getMeasuredHeight();
-
+        int height;
         if (mode == MeasureSpec.EXACTLY) {
-            height = heightSize;
+            height = heightSize; // items are not measured for nothing
         } else {
-            height += 2 * mItemsPadding;
+            if (isTextRendering()) {
+                height = getItemTextHeight() + 2 * mItemsPadding;
+            } else if (isStripRendering()) {
+                height = getStripCrossSize() + 2 * mItemsPadding;
+            } else {
+                mItems.measure(MeasureSpec.makeMeasureSpec(heightSize, MeasureSpec.UNSPECIFIED));
+                height = mItems.getMeasuredHeight() + 2 * mItemsPadding;
+            }
 
             // Check against our minimum width
             height = Math.max(height, getSuggestedMinimumHeight());
@@ -311,12 +327,10 @@ public class WheelHorizontalView extends AbstractWheelView {
                 height = heightSize;
             }
         }
-        // forcing recalculating
-        mItemsLayout.measure(
-                // MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(height - 2 * mItemsPadding, MeasureSpec.EXACTLY)
-        );
+        // forcing recalculating, labels and strip do not use item views
+        if (!isTextRendering() && !isStripRendering()) {
+            mItems.measure(MeasureSpec.makeMeasureSpec(height - 2 * mItemsPadding, MeasureSpec.EXACTLY));
+        }
 
         return height;
     }
@@ -329,51 +343,45 @@ public class WheelHorizontalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     @Override
-    protected void drawItems(Canvas canvas) {
-        canvas.save();
-        int w = getMeasuredWidth();
-        int h = getMeasuredHeight();
+    protected void drawItemsLayout(Canvas canvas) {
+        if (isTextRendering()) {
+            drawItemLabels(canvas, getWidth() / 2f + mScrollingOffset, getHeight() / 2f, getItemDimension(), 0);
+            return;
+        }
         int iw = getItemDimension();
-
-        // resetting intermediate bitmap and recreating canvases
-        mSpinBitmap.eraseColor(0);
-        Canvas c = new Canvas(mSpinBitmap);
-        Canvas cSpin = new Canvas(mSpinBitmap);
-
-        int left = (mCurrentItemIdx - mFirstItemIdx) * iw + (iw - getWidth()) / 2;
-        c.translate(- left + mScrollingOffset, mItemsPadding);
-        mItemsLayout.draw(c);
-
-        mSeparatorsBitmap.eraseColor(0);
-        Canvas cSeparators = new Canvas(mSeparatorsBitmap);
-
-        if (mSelectionDivider != null) {
-            // draw the top divider
-            int leftOfLeftDivider = (getWidth() - iw - mSelectionDividerWidth) / 2;
-            int rightOfLeftDivider = leftOfLeftDivider + mSelectionDividerWidth;
-            cSeparators.save();
-            // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
-            cSeparators.clipRect(leftOfLeftDivider, 0, rightOfLeftDivider, h);
-            mSelectionDivider.setBounds(leftOfLeftDivider, 0, rightOfLeftDivider, h);
-            mSelectionDivider.draw(cSeparators);
-            cSeparators.restore();
-
-            cSeparators.save();
-            // draw the bottom divider
-            int leftOfRightDivider =  leftOfLeftDivider + iw;
-            int rightOfRightDivider = rightOfLeftDivider + iw;
-            // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
-            cSeparators.clipRect(leftOfRightDivider, 0, rightOfRightDivider, h);
-            mSelectionDivider.setBounds(leftOfRightDivider, 0, rightOfRightDivider, h);
-            mSelectionDivider.draw(cSeparators);
-            cSeparators.restore();
+        if (isStripRendering()) {
+            canvas.translate(0, mItemsPadding);
+            drawItemStrip(canvas, (getWidth() - iw) / 2 + mScrollingOffset);
+            return;
         }
+        int left = (mCurrentItemIdx - mFirstItemIdx) * iw + (iw - getWidth()) / 2;
+        canvas.translate(- left + mScrollingOffset, mItemsPadding);
+        mItems.draw(canvas, getItemEmphasis(), getWidth() / 2f + left - mScrollingOffset);
+    }
 
-        cSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
-        cSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
+    @Override
+    protected void drawSelectionDividers(Canvas canvas) {
+        int h = getMeasuredHeight();
+        int iw = getItemDimension();
 
-        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
-        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
+        // draw the top divider
+        int leftOfLeftDivider = (getWidth() - iw - mSelectionDividerWidth) / 2;
+        int rightOfLeftDivider = leftOfLeftDivider + mSelectionDividerWidth;
+        canvas.save();
+        // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
+        canvas.clipRect(leftOfLeftDivider, 0, rightOfLeftDivider, h);
+        mSelectionDivider.setBounds(leftOfLeftDivider, 0, rightOfLeftDivider, h);
+        mSelectionDivider.draw(canvas);
+        canvas.restore();
+
+        canvas.save();
+        // draw the bottom divider
+        int leftOfRightDivider =  leftOfLeftDivider + iw;
+        int rightOfRightDivider = rightOfLeftDivider + iw;
+        // On Gingerbread setBounds() is ignored resulting in an ugly visual bug.
+        canvas.clipRect(leftOfRightDivider, 0, rightOfRightDivider, h);
+        mSelectionDivider.setBounds(leftOfRightDivider, 0, rightOfRightDivider, h);
+        mSelectionDivider.draw(canvas);
         canvas.restore();
     }
 
@@ -0,0 +1,164 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bitmaps of rendered items, looked up by item index and selected state.
+ * Least recently used bitmaps are evicted once their total size exceeds the budget.
+ * Entries are dropped when adapter data changes, so cached bitmaps always
+ * show the current adapter version.
+ */
+class WheelItemCache {
+
+    /**
+     * Rendered item
+     */
+    static class Entry {
+        final Bitmap bitmap;
+        final ViewGroup.LayoutParams layoutParams;
+
+        Entry(Bitmap bitmap, ViewGroup.LayoutParams layoutParams) {
+            this.bitmap = bitmap;
+            this.layoutParams = layoutParams;
+        }
+
+        int getBytes() {
+            return bitmap.getRowBytes() * bitmap.getHeight();
+        }
+    }
+
+    // Entries by key, in access order
+    private final LinkedHashMap<Long, Entry> mEntries = new LinkedHashMap<Long, Entry>(16, 0.75f, true);
+
+    private int mMaxBytes;
+    private int mBytes;
+
+    /**
+     * Constructor
+     * @param maxBytes the budget of bitmaps in bytes
+     */
+    WheelItemCache(int maxBytes) {
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Gets budget of bitmaps
+     * @return the budget in bytes
+     */
+    int getMaxBytes() {
+        return mMaxBytes;
+    }
+
+    /**
+     * Sets budget of bitmaps, evicting entries over it
+     * @param maxBytes the budget in bytes
+     */
+    void setMaxBytes(int maxBytes) {
+        mMaxBytes = maxBytes;
+        trim();
+    }
+
+    /**
+     * Makes key of item
+     * @param index the item index
+     * @param selected the flag indicates if the item is rendered as selected one
+     * @return the key
+     */
+    static long key(long index, boolean selected) {
+        return (index << 1) | (selected ? 1 : 0);
+    }
+
+    /**
+     * Gets rendered item
+     * @param key the item key
+     * @return the entry or null if item is not cached
+     */
+    Entry get(long key) {
+        return mEntries.get(key);
+    }
+
+    /**
+     * Renders laid out view into a new bitmap and caches it.
+     * Views larger than the budget are not cached.
+     *
+     * @param key the key of item the view is bound to
+     * @param view the view
+     */
+    void render(long key, View view) {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (width <= 0 || height <= 0 || (long) width * height * 4 > mMaxBytes) {
+            return;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        view.draw(new Canvas(bitmap));
+
+        Entry entry = new Entry(bitmap, view.getLayoutParams());
+        Entry old = mEntries.put(key, entry);
+        if (old != null) {
+            mBytes -= old.getBytes();
+        }
+        mBytes += entry.getBytes();
+        trim();
+    }
+
+    /**
+     * Drops entries of items in range
+     * @param start the index of the first item
+     * @param count the number of items, Long.MAX_VALUE for all items after start
+     */
+    void removeRange(long start, long count) {
+        Iterator<java.util.Map.Entry<Long, Entry>> it = mEntries.entrySet().iterator();
+        while (it.hasNext()) {
+            java.util.Map.Entry<Long, Entry> e = it.next();
+            long index = e.getKey() >> 1;
+            if (index >= start && index - start < count) {
+                mBytes -= e.getValue().getBytes();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all entries
+     */
+    void clear() {
+        mEntries.clear();
+        mBytes = 0;
+    }
+
+    /**
+     * Evicts least recently used entries until bitmaps fit the budget.
+     * Bitmaps are not recycled, views showing them may still be drawn.
+     */
+    private void trim() {
+        Iterator<Entry> it = mEntries.values().iterator();
+        while (mBytes > mMaxBytes && it.hasNext()) {
+            mBytes -= it.next().getBytes();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+
+/**
+ * Styling of the selected item applied when drawing, so item views are not configured
+ * again when selection moves. Items are scaled and faded by their distance to the
+ * selection center: fully emphasized at the center, not at all one item away.
+ */
+public class WheelItemEmphasis {
+
+    private float mSelectedScale = 1f;
+    private int mUnselectedAlpha = 255;
+
+    /**
+     * Gets scale of the selected item
+     * @return the scale, 1 if items are not scaled
+     */
+    public float getSelectedScale() {
+        return mSelectedScale;
+    }
+
+    /**
+     * Sets scale of the selected item
+     * @param scale the scale, 1 to not scale items
+     */
+    public void setSelectedScale(float scale) {
+        mSelectedScale = scale;
+    }
+
+    /**
+     * Gets alpha of items out of the selection
+     * @return the alpha, 255 if items are not faded
+     */
+    public int getUnselectedAlpha() {
+        return mUnselectedAlpha;
+    }
+
+    /**
+     * Sets alpha of items out of the selection
+     * @param alpha the alpha from 0 to 255, 255 to not fade items
+     */
+    public void setUnselectedAlpha(int alpha) {
+        mUnselectedAlpha = alpha;
+    }
+
+    /**
+     * Tests if items are emphasized at all
+     * @return true if items are scaled or faded
+     */
+    public boolean isEnabled() {
+        return mSelectedScale != 1f || mUnselectedAlpha != 255;
+    }
+
+    /**
+     * Gets emphasis of item
+     * @param distance the distance from item center to the selection center
+     * @param extent the item extent
+     * @return 1 for item at the selection center down to 0 for item one extent away
+     */
+    public float getFactor(float distance, float extent) {
+        if (extent <= 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - Math.abs(distance) / extent);
+    }
+
+    /**
+     * Gets scale of item
+     * @param factor the item emphasis
+     * @return the scale
+     */
+    public float getScale(float factor) {
+        return 1 + (mSelectedScale - 1) * factor;
+    }
+
+    /**
+     * Gets alpha of item
+     * @param factor the item emphasis
+     * @return the alpha from 0 to 255
+     */
+    public int getAlpha(float factor) {
+        return mUnselectedAlpha + Math.round((255 - mUnselectedAlpha) * factor);
+    }
+
+    /**
+     * Prepares canvas for drawing item with given bounds: scales it around its center
+     * and fades it within a layer. Text and bitmaps should rather be faded with paint alpha.
+     *
+     * @param canvas the canvas for drawing
+     * @param factor the item emphasis
+     * @param left the left of item bounds
+     * @param top the top of item bounds
+     * @param right the right of item bounds
+     * @param bottom the bottom of item bounds
+     * @return the save count to restore canvas to
+     */
+    public int save(Canvas canvas, float factor, float left, float top, float right, float bottom) {
+        int saveCount = canvas.save();
+        float scale = getScale(factor);
+        if (scale != 1f) {
+            canvas.scale(scale, scale, (left + right) / 2, (top + bottom) / 2);
+        }
+        int alpha = getAlpha(factor);
+        if (alpha < 255) {
+            canvas.saveLayerAlpha(left, top, right, bottom, alpha, Canvas.ALL_SAVE_FLAG);
+        }
+        return saveCount;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.widget.LinearLayout;
+
+/**
+ * All the items of a small adapter rendered once, one after another along the orientation axis.
+ * Scrolling draws the strip at an offset, repeated for cyclic spinnerwheel.
+ * The strip is split in chunks of whole items, so every bitmap fits a texture
+ * of hardware accelerated canvas.
+ */
+class WheelItemStrip {
+
+    /** Maximum size of a chunk along the orientation axis */
+    private static final int MAX_CHUNK_EXTENT = 2048;
+
+    private final boolean mVertical;
+    private final int mItemExtent;
+    private final int mItemsCount;
+    private final int mCrossSize;
+    private final int mChunkItems;
+    private final Bitmap[] mChunks;
+
+    // used to draw emphasized items one by one
+    private final Paint mItemPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect mSrc = new Rect();
+    private final RectF mDst = new RectF();
+
+    /**
+     * Renders views of all the items. Every view must be measured with the same extent and laid out.
+     *
+     * @param items the window with views of all the items, in index order
+     * @param itemExtent the extent of every view, margins included
+     */
+    WheelItemStrip(WheelItemWindow items, int itemExtent) {
+        mVertical = items.getOrientation() == LinearLayout.VERTICAL;
+        mItemExtent = itemExtent;
+        mItemsCount = items.size();
+        mCrossSize = Math.max(1, mVertical ? items.getMeasuredWidth() : items.getMeasuredHeight());
+        mChunkItems = Math.max(1, MAX_CHUNK_EXTENT / itemExtent);
+        mChunks = new Bitmap[(mItemsCount + mChunkItems - 1) / mChunkItems];
+
+        for (int i = 0; i < mChunks.length; i++) {
+            int extent = Math.min(mChunkItems, mItemsCount - i * mChunkItems) * itemExtent;
+            Bitmap chunk = mVertical
+                    ? Bitmap.createBitmap(mCrossSize, extent, Bitmap.Config.ARGB_8888)
+                    : Bitmap.createBitmap(extent, mCrossSize, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(chunk);
+            int start = -i * mChunkItems * itemExtent;
+            canvas.translate(mVertical ? 0 : start, mVertical ? start : 0);
+            items.draw(canvas);
+            mChunks[i] = chunk;
+        }
+    }
+
+    /**
+     * Gets extent of every item along the orientation axis
+     * @return the item extent
+     */
+    int getItemExtent() {
+        return mItemExtent;
+    }
+
+    /**
+     * Gets size of the strip across the orientation axis
+     * @return the cross size
+     */
+    int getCrossSize() {
+        return mCrossSize;
+    }
+
+    /**
+     * Draws the strip so that item 0 starts at given offset along the orientation axis.
+     * Only chunks within the visible extent are drawn, usually one or two of them.
+     *
+     * @param canvas the canvas for drawing
+     * @param offset the offset of item 0
+     * @param extent the visible extent along the orientation axis
+     * @param cyclic whether the strip repeats before and after itself
+     * @param emphasis the emphasis of items, null to draw the strip as it is
+     * @param center the selection center along the orientation axis
+     */
+    void draw(Canvas canvas, int offset, int extent, boolean cyclic, WheelItemEmphasis emphasis, float center) {
+        int length = mItemsCount * mItemExtent;
+        if (cyclic) {
+            offset %= length;
+            if (offset > 0) {
+                offset -= length;
+            }
+        }
+        for (int start = offset; start < extent; start += length) {
+            if (emphasis != null) {
+                drawItems(canvas, start, extent, emphasis, center);
+                if (!cyclic) {
+                    break;
+                }
+                continue;
+            }
+            for (int i = 0; i < mChunks.length; i++) {
+                int chunkStart = start + i * mChunkItems * mItemExtent;
+                int chunkEnd = chunkStart + (mVertical ? mChunks[i].getHeight() : mChunks[i].getWidth());
+                if (chunkEnd <= 0 || chunkStart >= extent) {
+                    continue;
+                }
+                canvas.drawBitmap(mChunks[i], mVertical ? 0 : chunkStart, mVertical ? chunkStart : 0, null);
+            }
+            if (!cyclic) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Draws visible items one by one, scaled and faded by their emphasis
+     */
+    private void drawItems(Canvas canvas, int start, int extent, WheelItemEmphasis emphasis, float center) {
+        int first = Math.max(0, -start / mItemExtent);
+        for (int k = first; k < mItemsCount; k++) {
+            int itemStart = start + k * mItemExtent;
+            if (itemStart >= extent) {
+                break;
+            }
+            int local = (k % mChunkItems) * mItemExtent;
+            if (mVertical) {
+                mSrc.set(0, local, mCrossSize, local + mItemExtent);
+            } else {
+                mSrc.set(local, 0, local + mItemExtent, mCrossSize);
+            }
+            float factor = emphasis.getFactor(itemStart + mItemExtent / 2f - center, mItemExtent);
+            float scale = emphasis.getScale(factor);
+            float mainStart = itemStart + mItemExtent * (1 - scale) / 2;
+            float crossStart = mCrossSize * (1 - scale) / 2;
+            if (mVertical) {
+                mDst.set(crossStart, mainStart, crossStart + mCrossSize * scale, mainStart + mItemExtent * scale);
+            } else {
+                mDst.set(mainStart, crossStart, mainStart + mItemExtent * scale, crossStart + mCrossSize * scale);
+            }
+            mItemPaint.setAlpha(emphasis.getAlpha(factor));
+            canvas.drawBitmap(mChunks[k / mChunkItems], mSrc, mDst, mItemPaint);
+        }
+    }
+
+    /**
+     * Frees the bitmaps, the strip must not be drawn anymore
+     */
+    void recycle() {
+        for (Bitmap chunk : mChunks) {
+            chunk.recycle();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+/**
+ * Views of the items shown by spinnerwheel, in item order.
+ * Kept in a ring buffer, so adding and removing items at both ends takes constant time.
+ * Unlike {@link LinearLayout} views are not attached to a parent, only views bound
+ * since the last pass are measured and laid out. Views are stacked along the
+ * orientation axis the same way {@link LinearLayout} does.
+ */
+public class WheelItemWindow {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // Orientation, one of LinearLayout.VERTICAL or LinearLayout.HORIZONTAL
+    private final int mOrientation;
+
+    // Ring buffer of views and their state
+    private View[] mViews = new View[INITIAL_CAPACITY];
+    private boolean[] mMeasured = new boolean[INITIAL_CAPACITY];
+    private boolean[] mLaidOut = new boolean[INITIAL_CAPACITY];
+    private int mHead;
+    private int mSize;
+
+    // Cross axis spec the measured views were measured with
+    private int mCrossMeasureSpec = -1;
+
+    // Size of every view along the orientation axis, 0 if views are measured
+    private int mFixedExtent;
+
+    /**
+     * Constructor
+     * @param orientation the orientation, {@link LinearLayout#VERTICAL} or {@link LinearLayout#HORIZONTAL}
+     */
+    public WheelItemWindow(int orientation) {
+        mOrientation = orientation;
+    }
+
+    /**
+     * Sets size every view gets along the orientation axis, margins included.
+     * Views are then measured exactly, never unconstrained.
+     * @param extent the extent, 0 to measure views
+     */
+    public void setFixedExtent(int extent) {
+        if (mFixedExtent != extent) {
+            mFixedExtent = extent;
+            mCrossMeasureSpec = -1; // measuring all the views again
+        }
+    }
+
+    /**
+     * Gets orientation
+     * @return {@link LinearLayout#VERTICAL} or {@link LinearLayout#HORIZONTAL}
+     */
+    public int getOrientation() {
+        return mOrientation;
+    }
+
+    /**
+     * Gets cross axis spec of the last measuring pass
+     * @return the measure spec, -1 if views have not been measured yet
+     */
+    public int getCrossMeasureSpec() {
+        return mCrossMeasureSpec;
+    }
+
+    /**
+     * Gets number of views
+     * @return the views count
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Gets view at given position
+     * @param i the position, from 0 for the first item
+     * @return the view
+     */
+    public View get(int i) {
+        return mViews[slot(i)];
+    }
+
+    /**
+     * Adds view before the first one
+     * @param view the view
+     */
+    public void addFirst(View view) {
+        ensureCapacity();
+        mHead = (mHead - 1 + mViews.length) % mViews.length;
+        mSize++;
+        setSlot(mHead, view);
+    }
+
+    /**
+     * Adds view after the last one
+     * @param view the view
+     */
+    public void addLast(View view) {
+        ensureCapacity();
+        mSize++;
+        setSlot(slot(mSize - 1), view);
+    }
+
+    /**
+     * Removes the first view
+     * @return the removed view
+     */
+    public View removeFirst() {
+        View view = mViews[mHead];
+        mViews[mHead] = null;
+        mHead = (mHead + 1) % mViews.length;
+        mSize--;
+        return view;
+    }
+
+    /**
+     * Removes the last view
+     * @return the removed view
+     */
+    public View removeLast() {
+        int last = slot(mSize - 1);
+        View view = mViews[last];
+        mViews[last] = null;
+        mSize--;
+        return view;
+    }
+
+    /**
+     * Replaces view at given position, e.g. after it has been bound again.
+     * The view is measured and laid out on the next pass.
+     * @param i the position
+     * @param view the new view
+     */
+    public void set(int i, View view) {
+        setSlot(slot(i), view);
+    }
+
+    /**
+     * Removes all views
+     */
+    public void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mViews[slot(i)] = null;
+        }
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Measures views bound since the last pass. All the views are measured
+     * if the cross axis spec is not the one they were measured with.
+     * Along the orientation axis views are measured unconstrained, or get the fixed extent.
+     *
+     * @param crossMeasureSpec the measure spec across the orientation axis
+     */
+    public void measure(int crossMeasureSpec) {
+        boolean all = crossMeasureSpec != mCrossMeasureSpec;
+        mCrossMeasureSpec = crossMeasureSpec;
+        int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        for (int i = 0; i < mSize; i++) {
+            int slot = slot(i);
+            View view = mViews[slot];
+            if (!all && mMeasured[slot] && !view.isLayoutRequested()) {
+                continue;
+            }
+            ViewGroup.LayoutParams lp = getLayoutParams(view);
+            int crossMargins = 0;
+            int mainMargins = 0;
+            if (lp instanceof ViewGroup.MarginLayoutParams) {
+                ViewGroup.MarginLayoutParams mlp = (ViewGroup.MarginLayoutParams) lp;
+                int horizontal = mlp.leftMargin + mlp.rightMargin;
+                int vertical = mlp.topMargin + mlp.bottomMargin;
+                crossMargins = isVertical() ? horizontal : vertical;
+                mainMargins = isVertical() ? vertical : horizontal;
+            }
+            int crossSpec = ViewGroup.getChildMeasureSpec(crossMeasureSpec, crossMargins, isVertical() ? lp.width : lp.height);
+            int mainSpec = mFixedExtent > 0
+                    ? View.MeasureSpec.makeMeasureSpec(Math.max(0, mFixedExtent - mainMargins), View.MeasureSpec.EXACTLY)
+                    : ViewGroup.getChildMeasureSpec(unspecified, mainMargins, isVertical() ? lp.height : lp.width);
+            if (isVertical()) {
+                view.measure(crossSpec, mainSpec);
+            } else {
+                view.measure(mainSpec, crossSpec);
+            }
+            mMeasured[slot] = true;
+            mLaidOut[slot] = false;
+        }
+    }
+
+    /**
+     * Lays out views measured since the last pass. Every view is laid out at the origin,
+     * its offset along the orientation axis is applied when drawing.
+     */
+    public void layout() {
+        for (int i = 0; i < mSize; i++) {
+            int slot = slot(i);
+            if (mLaidOut[slot] || !mMeasured[slot]) {
+                continue;
+            }
+            View view = mViews[slot];
+            int left = 0;
+            int top = 0;
+            ViewGroup.LayoutParams lp = view.getLayoutParams();
+            if (lp instanceof ViewGroup.MarginLayoutParams) {
+                left = ((ViewGroup.MarginLayoutParams) lp).leftMargin;
+                top = ((ViewGroup.MarginLayoutParams) lp).topMargin;
+            }
+            view.layout(left, top, left + view.getMeasuredWidth(), top + view.getMeasuredHeight());
+            mLaidOut[slot] = true;
+        }
+    }
+
+    /**
+     * Draws views one after another along the orientation axis, starting at the canvas origin
+     * @param canvas the canvas for drawing
+     */
+    public void draw(Canvas canvas) {
+        draw(canvas, null, 0);
+    }
+
+    /**
+     * Draws views one after another along the orientation axis, emphasized by their distance to the selection center
+     * @param canvas the canvas for drawing
+     * @param emphasis the emphasis, null to draw views as they are
+     * @param center the selection center along the orientation axis, in canvas coordinates
+     */
+    public void draw(Canvas canvas, WheelItemEmphasis emphasis, float center) {
+        int offset = 0;
+        for (int i = 0; i < mSize; i++) {
+            View view = mViews[slot(i)];
+            int size = getMainSize(view);
+            int saveCount = canvas.save();
+            // views are laid out within their slots, margins included, the way ViewGroup.drawChild() applies it
+            if (isVertical()) {
+                canvas.translate(view.getLeft(), offset + view.getTop());
+            } else {
+                canvas.translate(offset + view.getLeft(), view.getTop());
+            }
+            if (emphasis != null) {
+                float factor = emphasis.getFactor(offset + size / 2f - center, size);
+                emphasis.save(canvas, factor, 0, 0, view.getWidth(), view.getHeight());
+            }
+            view.draw(canvas);
+            canvas.restoreToCount(saveCount);
+            offset += size;
+        }
+    }
+
+    /**
+     * Gets size of measured view along the orientation axis, margins included
+     * @param i the position
+     * @return the view extent
+     */
+    public int getItemExtent(int i) {
+        return getMainSize(mViews[slot(i)]);
+    }
+
+    /**
+     * Gets measured width, the widest view for vertical window and the views total otherwise
+     * @return the width
+     */
+    public int getMeasuredWidth() {
+        return isVertical() ? getCrossSize() : getMainSize();
+    }
+
+    /**
+     * Gets measured height, the views total for vertical window and the highest view otherwise
+     * @return the height
+     */
+    public int getMeasuredHeight() {
+        return isVertical() ? getMainSize() : getCrossSize();
+    }
+
+    private boolean isVertical() {
+        return mOrientation == LinearLayout.VERTICAL;
+    }
+
+    /**
+     * Gets layout params, views without them get the ones {@link LinearLayout} generates by default
+     */
+    private ViewGroup.LayoutParams getLayoutParams(View view) {
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        if (lp == null) {
+            lp = isVertical()
+                    ? new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT)
+                    : new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            view.setLayoutParams(lp);
+        }
+        return lp;
+    }
+
+    /**
+     * Gets size of view along the orientation axis, margins included
+     */
+    private int getMainSize(View view) {
+        if (mFixedExtent > 0) {
+            return mFixedExtent;
+        }
+        int size = isVertical() ? view.getMeasuredHeight() : view.getMeasuredWidth();
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        if (lp instanceof ViewGroup.MarginLayoutParams) {
+            ViewGroup.MarginLayoutParams mlp = (ViewGroup.MarginLayoutParams) lp;
+            size += isVertical() ? mlp.topMargin + mlp.bottomMargin : mlp.leftMargin + mlp.rightMargin;
+        }
+        return size;
+    }
+
+    private int getMainSize() {
+        if (mFixedExtent > 0) {
+            return mFixedExtent * mSize;
+        }
+        int size = 0;
+        for (int i = 0; i < mSize; i++) {
+            size += getMainSize(mViews[slot(i)]);
+        }
+        return size;
+    }
+
+    private int getCrossSize() {
+        int size = 0;
+        for (int i = 0; i < mSize; i++) {
+            View view = mViews[slot(i)];
+            int viewSize = isVertical() ? view.getMeasuredWidth() : view.getMeasuredHeight();
+            ViewGroup.LayoutParams lp = view.getLayoutParams();
+            if (lp instanceof ViewGroup.MarginLayoutParams) {
+                ViewGroup.MarginLayoutParams mlp = (ViewGroup.MarginLayoutParams) lp;
+                viewSize += isVertical() ? mlp.leftMargin + mlp.rightMargin : mlp.topMargin + mlp.bottomMargin;
+            }
+            size = Math.max(size, viewSize);
+        }
+        return size;
+    }
+
+    private int slot(int i) {
+        return (mHead + i) % mViews.length;
+    }
+
+    private void setSlot(int slot, View view) {
+        mViews[slot] = view;
+        mMeasured[slot] = false;
+        mLaidOut[slot] = false;
+    }
+
+    /**
+     * Grows the buffer when it is full, unrolling the ring
+     */
+    private void ensureCapacity() {
+        if (mSize < mViews.length) {
+            return;
+        }
+        int capacity = mViews.length * 2;
+        View[] views = new View[capacity];
+        boolean[] measured = new boolean[capacity];
+        boolean[] laidOut = new boolean[capacity];
+        for (int i = 0; i < mSize; i++) {
+            int slot = slot(i);
+            views[i] = mViews[slot];
+            measured[i] = mMeasured[slot];
+            laidOut[i] = mLaidOut[slot];
+        }
+        mViews = views;
+        mMeasured = measured;
+        mLaidOut = laidOut;
+        mHead = 0;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Fling physics follow android.widget.Scroller from
+ * the Android Open Source Project, Copyright (C) 2006 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.content.Context;
+import android.hardware.SensorManager;
+import android.view.ViewConfiguration;
+import android.view.animation.Interpolator;
+
+/**
+ * One-dimensional scrolling motion. Unlike {@link android.widget.Scroller} position is
+ * computed from the time passed by the caller, so it can be driven by frame time.
+ */
+public class WheelMotion {
+
+    private static final int MODE_SCROLL = 0;
+    private static final int MODE_FLING  = 1;
+
+    private static final float DECELERATION_RATE = (float) (Math.log(0.78) / Math.log(0.9));
+    private static final float INFLEXION = 0.35f; // Tension lines cross at (INFLEXION, 1)
+    private static final float START_TENSION = 0.5f;
+    private static final float END_TENSION = 1.0f;
+    private static final float P1 = START_TENSION * INFLEXION;
+    private static final float P2 = 1.0f - END_TENSION * (1.0f - INFLEXION);
+
+    private static final int NB_SAMPLES = 100;
+    private static final float[] SPLINE_POSITION = new float[NB_SAMPLES + 1];
+
+    static {
+        float xMin = 0.0f;
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final float alpha = (float) i / NB_SAMPLES;
+            float xMax = 1.0f;
+            float x, tx, coef;
+            while (true) {
+                x = xMin + (xMax - xMin) / 2.0f;
+                coef = 3.0f * x * (1.0f - x);
+                tx = coef * ((1.0f - x) * P1 + x * P2) + x * x * x;
+                if (Math.abs(tx - alpha) < 1E-5) break;
+                if (tx > alpha) xMax = x;
+                else xMin = x;
+            }
+            SPLINE_POSITION[i] = coef * ((1.0f - x) * START_TENSION + x) + x * x * x;
+        }
+        SPLINE_POSITION[NB_SAMPLES] = 1.0f;
+    }
+
+    private static final Interpolator VISCOUS_FLUID_INTERPOLATOR = new ViscousFluidInterpolator();
+
+    private int mMode;
+    private int mStart;
+    private int mFinal;
+    private int mCurr;
+    private long mStartTimeNanos;
+    private long mDurationNanos;
+    private boolean mFinished = true;
+
+    private Interpolator mInterpolator;
+    private float mFlingFriction = ViewConfiguration.getScrollFriction();
+    private final float mPhysicalCoeff;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param interpolator the interpolator for programmatic scrolling, null for default one
+     */
+    public WheelMotion(Context context, Interpolator interpolator) {
+        setInterpolator(interpolator);
+        float ppi = context.getResources().getDisplayMetrics().density * 160.0f;
+        mPhysicalCoeff = SensorManager.GRAVITY_EARTH // g (m/s^2)
+                * 39.37f // inch/meter
+                * ppi
+                * 0.84f; // look and feel tuning
+    }
+
+    /**
+     * Set the the specified scrolling interpolator. Does not affect flings.
+     * @param interpolator the interpolator, null for default one
+     */
+    public void setInterpolator(Interpolator interpolator) {
+        mInterpolator = interpolator != null ? interpolator : VISCOUS_FLUID_INTERPOLATOR;
+    }
+
+    /**
+     * Set the friction applied to flings.
+     * @param friction the amount of friction, {@link ViewConfiguration#getScrollFriction()} by default
+     */
+    public void setFriction(float friction) {
+        mFlingFriction = friction;
+    }
+
+    /**
+     * Starts scrolling by given distance
+     * @param start the start position
+     * @param distance the distance to travel
+     * @param durationMillis the scrolling duration
+     * @param startTimeNanos the start time, {@link System#nanoTime()} time base
+     */
+    public void startScroll(int start, int distance, int durationMillis, long startTimeNanos) {
+        mMode = MODE_SCROLL;
+        mFinished = false;
+        mStart = start;
+        mCurr = start;
+        mFinal = start + distance;
+        mStartTimeNanos = startTimeNanos;
+        mDurationNanos = durationMillis * 1000000L;
+    }
+
+    /**
+     * Starts fling decelerating from given velocity
+     * @param start the start position
+     * @param velocity the initial velocity, pixels per second
+     * @param startTimeNanos the start time, {@link System#nanoTime()} time base
+     */
+    public void fling(int start, int velocity, long startTimeNanos) {
+        mMode = MODE_FLING;
+        mFinished = false;
+        mStart = start;
+        mCurr = start;
+        mStartTimeNanos = startTimeNanos;
+
+        int distance = 0;
+        long duration = 0;
+        if (velocity != 0) {
+            double l = Math.log(INFLEXION * Math.abs(velocity) / (mFlingFriction * mPhysicalCoeff));
+            double decelMinusOne = DECELERATION_RATE - 1.0;
+            duration = (long) (1000000000.0 * Math.exp(l / decelMinusOne));
+            double totalDistance = mFlingFriction * mPhysicalCoeff * Math.exp(DECELERATION_RATE / decelMinusOne * l);
+            distance = (int) Math.round(totalDistance * Math.signum(velocity));
+        }
+        mDurationNanos = duration;
+        mFinal = start + distance;
+    }
+
+    /**
+     * Computes position at given time
+     * @param timeNanos the current time, {@link System#nanoTime()} time base
+     * @return false if the motion has been finished before this call
+     */
+    public boolean computeOffset(long timeNanos) {
+        if (mFinished) {
+            return false;
+        }
+
+        long passed = timeNanos - mStartTimeNanos;
+        if (passed < 0) {
+            passed = 0;
+        }
+        if (passed >= mDurationNanos) {
+            mCurr = mFinal;
+            mFinished = true;
+            return true;
+        }
+
+        float t = passed / (float) mDurationNanos;
+        float distanceCoef;
+        if (mMode == MODE_FLING) {
+            final int index = (int) (NB_SAMPLES * t);
+            distanceCoef = 1.f;
+            if (index < NB_SAMPLES) {
+                final float tInf = (float) index / NB_SAMPLES;
+                final float tSup = (float) (index + 1) / NB_SAMPLES;
+                final float dInf = SPLINE_POSITION[index];
+                final float dSup = SPLINE_POSITION[index + 1];
+                final float velocityCoef = (dSup - dInf) / (tSup - tInf);
+                distanceCoef = dInf + (t - tInf) * velocityCoef;
+            }
+        } else {
+            distanceCoef = mInterpolator.getInterpolation(t);
+        }
+        mCurr = mStart + Math.round(distanceCoef * (mFinal - mStart));
+        return true;
+    }
+
+    /**
+     * Gets current position
+     * @return the position computed by the last {@link #computeOffset(long)} call
+     */
+    public int getCurrentPosition() {
+        return mCurr;
+    }
+
+    /**
+     * Gets final position
+     * @return the position the motion will stop at
+     */
+    public int getFinalPosition() {
+        return mFinal;
+    }
+
+    /**
+     * Moves final position, so the motion ends at new position in one smooth movement.
+     * Fling duration is rescaled following fling physics, scrolling keeps its duration.
+     * @param finalPosition the new final position
+     */
+    public void setFinalPosition(int finalPosition) {
+        if (mMode == MODE_FLING && mFinal != mStart) {
+            // fling distance grows as duration ^ DECELERATION_RATE
+            double ratio = Math.abs((finalPosition - mStart) / (double) (mFinal - mStart));
+            mDurationNanos = (long) (mDurationNanos * Math.pow(ratio, 1.0 / DECELERATION_RATE));
+        }
+        mFinal = finalPosition;
+    }
+
+    /**
+     * Tests if the motion is finished
+     * @return true if finished
+     */
+    public boolean isFinished() {
+        return mFinished;
+    }
+
+    /**
+     * Forces finished state
+     * @param finished the new finished value
+     */
+    public void forceFinished(boolean finished) {
+        mFinished = finished;
+    }
+
+    /**
+     * Default interpolator of {@link android.widget.Scroller}
+     */
+    private static class ViscousFluidInterpolator implements Interpolator {
+        /** Controls the viscous fluid effect (how much of it). */
+        private static final float VISCOUS_FLUID_SCALE = 8.0f;
+
+        private static final float VISCOUS_FLUID_NORMALIZE;
+        private static final float VISCOUS_FLUID_OFFSET;
+
+        static {
+            // must be set to 1.0 (used in viscousFluid())
+            VISCOUS_FLUID_NORMALIZE = 1.0f / viscousFluid(1.0f);
+            // account for very small floating-point error
+            VISCOUS_FLUID_OFFSET = 1.0f - VISCOUS_FLUID_NORMALIZE * viscousFluid(1.0f);
+        }
+
+        private static float viscousFluid(float x) {
+            x *= VISCOUS_FLUID_SCALE;
+            if (x < 1.0f) {
+                x -= (1.0f - (float) Math.exp(-x));
+            } else {
+                float start = 0.36787944117f;   // 1/e == exp(-1)
+                x = 1.0f - (float) Math.exp(1.0f - x);
+                x = start + x * (1.0f - start);
+            }
+            return x;
+        }
+
+        @Override
+        public float getInterpolation(float input) {
+            final float interpolated = VISCOUS_FLUID_NORMALIZE * viscousFluid(input);
+            if (interpolated > 0) {
+                return interpolated + VISCOUS_FLUID_OFFSET;
+            }
+            return interpolated;
+        }
+    }
+}
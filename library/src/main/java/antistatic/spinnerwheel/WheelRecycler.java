@@ -24,14 +24,11 @@
 
 package antistatic.spinnerwheel;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import android.view.View;
-import android.widget.LinearLayout;
 
 /**
  * Recycle stored spinnerwheel items to reuse.
+ * Views are kept in a {@link WheelViewPool}, either private or shared with other wheels.
  */
 public class WheelRecycler {
 
@@ -39,11 +36,11 @@ public class WheelRecycler {
     @SuppressWarnings("unused")
     private static final String LOG_TAG = WheelRecycler.class.getName();
 
-    // Cached items
-    private List<View> items;
+    // Pool of cached items
+    private WheelViewPool pool = new WheelViewPool();
 
-    // Cached empty items
-    private List<View> emptyItems;
+    // Whether pool is shared with other wheels
+    private boolean isPoolShared;
 
     // Wheel view
     private AbstractWheel wheel;
@@ -57,38 +54,56 @@ public class WheelRecycler {
     }
 
     /**
-     * Recycles items from specified layout.
+     * Sets pool shared with other wheels
+     * @param sharedPool the shared pool, null to use private pool again
+     */
+    public void setViewPool(WheelViewPool sharedPool) {
+        if (sharedPool != null) {
+            pool = sharedPool;
+            isPoolShared = true;
+        } else if (isPoolShared) {
+            pool = new WheelViewPool();
+            isPoolShared = false;
+        }
+    }
+
+    /**
+     * Gets the pool views are cached in
+     * @return the view pool
+     */
+    public WheelViewPool getViewPool() {
+        return pool;
+    }
+
+    /**
+     * Recycles items from specified window.
      * There are saved only items not included to specified range.
-     * All the cached items are removed from original layout.
+     * All the cached items are removed from the window.
      *
-     * @param layout the layout containing items to be cached
-     * @param firstItem the number of first item in layout
+     * @param items the window containing items to be cached
+     * @param firstItem the number of first item in window
      * @param range the range of current spinnerwheel items
      * @return the new value of first item number
      */
-    public int recycleItems(LinearLayout layout, int firstItem, ItemsRange range) {
-        int index = firstItem;
-        for (int i = 0; i < layout.getChildCount();) {
-            if (!range.contains(index)) {
-                recycleView(layout.getChildAt(i), index);
-                layout.removeViewAt(i);
-                if (i == 0) { // first item
-                    firstItem++;
-                }
-            } else {
-                i++; // go to next item
-            }
-            index++;
+    public int recycleItems(WheelItemWindow items, int firstItem, ItemsRange range) {
+        // both the window and the range are contiguous, items go out at the ends only
+        while (items.size() > 0 && !range.contains(firstItem)) {
+            recycle(items.removeFirst());
+            firstItem++;
+        }
+        while (items.size() > 0 && !range.contains(firstItem + items.size() - 1)) {
+            recycle(items.removeLast());
         }
         return firstItem;
     }
 
     /**
      * Gets item view
-     * @return the cached view
+     * @param type the view type
+     * @return the cached view of specified type
      */
-    public View getItem() {
-        return getCachedView(items);
+    public View getItem(int type) {
+        return pool.getView(type);
     }
 
     /**
@@ -96,68 +111,46 @@ public class WheelRecycler {
      * @return the cached empty view
      */
     public View getEmptyItem() {
-        return getCachedView(emptyItems);
+        return pool.getView(WheelViewPool.TYPE_EMPTY);
     }
 
     /**
-     * Clears all views
+     * Marks view created by adapter with its view type, so it is recycled to the matching cache
+     * @param view the view
+     * @param type the view type
      */
-    public void clearAll() {
-        if (items != null) {
-            items.clear();
-        }
-        if (emptyItems != null) {
-            emptyItems.clear();
-        }
+    public static void setViewType(View view, int type) {
+        view.setTag(R.id.wheel_item_view_type, type);
     }
 
     /**
-     * Adds view to specified cache. Creates a cache list if it is null.
-     * @param view the view to be cached
-     * @param cache the cache list
-     * @return the cache list
+     * Clears all views. Shared pool is left as is, other wheels may still use its views.
      */
-    private List<View> addView(View view, List<View> cache) {
-        if (cache == null) {
-            cache = new LinkedList<View>();
+    public void clearAll() {
+        if (!isPoolShared) {
+            pool.clear();
         }
-
-        cache.add(view);
-        return cache;
     }
 
     /**
-     * Adds view to cache. Determines view type (item view or empty one) by index.
-     * @param view the view to be cached
-     * @param index the index of view
+     * Gets view type the view has been marked with
+     * @param view the view
+     * @return the view type or {@link Integer#MIN_VALUE} if the view has no type
      */
-    private void recycleView(View view, int index) {
-        int count = wheel.getViewAdapter().getItemsCount();
-
-        if ((index < 0 || index >= count) && !wheel.isCyclic()) {
-            // empty view
-            emptyItems = addView(view, emptyItems);
-        } else {
-            while (index < 0) {
-                index = count + index;
-            }
-            index %= count;
-            items = addView(view, items);
-        }
+    public static int getViewType(View view) {
+        Object type = view.getTag(R.id.wheel_item_view_type);
+        return type instanceof Integer ? (Integer) type : Integer.MIN_VALUE;
     }
 
     /**
-     * Gets view from specified cache.
-     * @param cache the cache
-     * @return the first view from cache.
+     * Adds view to cache of its view type. Views without type are dropped.
+     * @param view the view to be cached
      */
-    private View getCachedView(List<View> cache) {
-        if (cache != null && cache.size() > 0) {
-            View view = cache.get(0);
-            cache.remove(0);
-            return view;
+    public void recycle(View view) {
+        Object type = view.getTag(R.id.wheel_item_view_type);
+        if (type instanceof Integer) {
+            pool.putView((Integer) type, view);
         }
-        return null;
     }
 
 }
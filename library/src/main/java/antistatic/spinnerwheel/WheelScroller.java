@@ -25,17 +25,14 @@
 package antistatic.spinnerwheel;
 
 import android.content.Context;
-import android.os.Build;
-import android.os.Handler;
-import android.os.Message;
-import android.view.GestureDetector;
-import android.view.GestureDetector.SimpleOnGestureListener;
 import android.view.MotionEvent;
+import android.view.ViewConfiguration;
 import android.view.animation.Interpolator;
-import android.widget.Scroller;
 
 /**
- * Scroller class handles scrolling events and updates the spinnerwheel
+ * Scroller class handles scrolling events and updates the spinnerwheel.
+ * Animations are advanced by the shared {@link WheelFrameClock}, once per display frame.
+ * Touch moves are coalesced into a single scroll delta per frame as well.
  */
 public abstract class WheelScroller {
     /**
@@ -45,6 +42,14 @@ public abstract class WheelScroller {
 
         void onFling(int direction);
 
+        /**
+         * Fling callback called when fling is started, lets the listener choose where the fling stops.
+         * The fling then settles there in one motion, without justifying.
+         * @param distance the distance fling would scroll, as a sum of {@link #onScroll(int)} values
+         * @return the distance fling should scroll instead
+         */
+        int onFlingDistance(int distance);
+
         /**
          * Scrolling callback called when scrolling is performed.
          * @param distance the distance to scroll
@@ -86,15 +91,16 @@ public abstract class WheelScroller {
     // Listener
     private ScrollingListener listener;
 
-    // Context
-    private Context context;
-
     // Scrolling
-    private   GestureDetector gestureDetector;
-    protected Scroller        scroller;
-    private   int             lastScrollPosition;
-    private   float           lastTouchedPosition;
-    private   boolean         isScrollingPerformed;
+    protected WheelMotion          motion;
+    private   WheelVelocityTracker velocityTracker = new WheelVelocityTracker();
+    private   int                  lastScrollPosition;
+    private   float                lastTouchedPosition;
+    private   int                  pendingTouchDistance;
+    private   boolean              isScrollingPerformed;
+    private   boolean              isFlingSnapped;
+    private   int                  minimumFlingVelocity;
+    private   int                  maximumFlingVelocity;
     public static final int SCROLL_DIRECTION_UP   = 1;
     public static final int SCROLL_DIRECTION_DOWN = -1;
 
@@ -104,31 +110,13 @@ public abstract class WheelScroller {
      * @param listener the scrolling listener
      */
     public WheelScroller(Context context, ScrollingListener listener) {
-        gestureDetector = new GestureDetector(context, new SimpleOnGestureListener() {
-            public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-                // Do scrolling in onTouchEvent() since onScroll() are not call immediately
-                //  when user touch and move the spinnerwheel
-                WheelScroller.this.listener.onFling(0);
-                return true;
-            }
-
-            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-                lastScrollPosition = 0;
-                scrollerFling(lastScrollPosition, (int) velocityX, (int) velocityY);
-                setNextMessage(MESSAGE_SCROLL);
-                WheelScroller.this.listener.onFling(
-                  velocityY < 0 ? SCROLL_DIRECTION_UP : SCROLL_DIRECTION_DOWN);
-                return true;
-            }
-
-            // public boolean onDown(MotionEvent motionEvent);
-        });
-        gestureDetector.setIsLongpressEnabled(false);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        minimumFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maximumFlingVelocity = configuration.getScaledMaximumFlingVelocity();
 
-        scroller = new Scroller(context);
+        motion = new WheelMotion(context, null);
 
         this.listener = listener;
-        this.context = context;
     }
 
     /**
@@ -136,8 +124,8 @@ public abstract class WheelScroller {
      * @param interpolator the interpolator
      */
     public void setInterpolator(Interpolator interpolator) {
-        scroller.forceFinished(true);
-        scroller = new Scroller(context, interpolator);
+        motion.forceFinished(true);
+        motion.setInterpolator(interpolator);
     }
 
     /**
@@ -146,10 +134,10 @@ public abstract class WheelScroller {
      * @param time the scrolling duration
      */
     public void scroll(int distance, int time) {
-        scroller.forceFinished(true);
         lastScrollPosition = 0;
-        scrollerStartScroll(distance, time != 0 ? time : SCROLLING_DURATION);
-        setNextMessage(MESSAGE_SCROLL);
+        isFlingSnapped = false;
+        motion.startScroll(0, distance, time != 0 ? time : SCROLLING_DURATION, System.nanoTime());
+        startAnimation(ANIMATION_SCROLL);
         startScrolling();
     }
 
@@ -157,102 +145,178 @@ public abstract class WheelScroller {
      * Stops scrolling
      */
     public void stopScrolling() {
-        scroller.forceFinished(true);
+        motion.forceFinished(true);
+        isFlingSnapped = false; // stopped somewhere in between, has to be justified
     }
 
     /**
-     * Set the friction of the scroller. This function is available over Android 3.0 (API Level 11).
+     * Set the friction of the scroller.
      * @param friction the amount of friction
      */
     public void setFriction(float friction) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-            scroller.setFriction(friction);
-        }
+        motion.setFriction(friction);
     }
 
     /**
-     * Handles Touch event 
+     * Handles Touch event. Historical samples batched in move events are used for velocity tracking,
+     * scrolling is applied once per frame.
      * @param event the motion event
      * @return
      */
     public boolean onTouchEvent(MotionEvent event) {
-        switch (event.getAction()) {
+        switch (event.getActionMasked()) {
 
             case MotionEvent.ACTION_DOWN:
                 lastTouchedPosition = getMotionEventPosition(event);
-                scroller.forceFinished(true);
-                clearMessages();
+                pendingTouchDistance = 0;
+                velocityTracker.clear();
+                velocityTracker.addSample(event.getEventTime(), lastTouchedPosition);
+                motion.forceFinished(true);
+                isFlingSnapped = false;
+                stopAnimation();
                 listener.onTouch();
                 break;
 
-            case MotionEvent.ACTION_UP:
-                if (scroller.isFinished()) listener.onTouchUp();
-                break;
-
-
             case MotionEvent.ACTION_MOVE:
+                float position = getMotionEventPosition(event);
+                trackMotionEvent(event, position);
                 // perform scrolling
-                int distance = (int) (getMotionEventPosition(event) - lastTouchedPosition);
+                int distance = (int) (position - lastTouchedPosition);
                 if (distance != 0) {
+                    // keeping the fraction, so slow moves are not lost
+                    lastTouchedPosition += distance;
+                    pendingTouchDistance += distance;
                     startScrolling();
-                    listener.onScroll(distance);
-                    lastTouchedPosition = getMotionEventPosition(event);
+                    if (frameClock.isVsyncDriven()) {
+                        frameClock.addListener(frameListener);
+                    } else {
+                        flushTouchDistance();
+                    }
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+                if (motion.isFinished()) listener.onTouchUp();
+                trackMotionEvent(event, getMotionEventPosition(event));
+                flushTouchDistance();
+                float velocity = velocityTracker.computeVelocity();
+                if (Math.abs(velocity) >= minimumFlingVelocity) {
+                    fling(Math.max(-maximumFlingVelocity, Math.min((int) velocity, maximumFlingVelocity)));
+                } else {
+                    justify();
                 }
                 break;
-        }
 
-        if (!gestureDetector.onTouchEvent(event) && event.getAction() == MotionEvent.ACTION_UP) {
-            justify();
+            case MotionEvent.ACTION_CANCEL:
+                flushTouchDistance();
+                justify();
+                break;
         }
 
         return true;
     }
 
+    /**
+     * Feeds all the samples of the event to velocity tracker
+     * @param event the motion event
+     * @param position the current position of the event along scrolling axis
+     */
+    private void trackMotionEvent(MotionEvent event, float position) {
+        int historySize = event.getHistorySize();
+        for (int i = 0; i < historySize; i++) {
+            velocityTracker.addSample(event.getHistoricalEventTime(i), getHistoricalMotionEventPosition(event, i));
+        }
+        velocityTracker.addSample(event.getEventTime(), position);
+    }
 
-    // Messages
-    private final int MESSAGE_SCROLL  = 0;
-    private final int MESSAGE_JUSTIFY = 1;
+    /**
+     * Passes touch moves accumulated since last frame to the listener
+     */
+    private void flushTouchDistance() {
+        if (pendingTouchDistance != 0) {
+            int distance = pendingTouchDistance;
+            pendingTouchDistance = 0;
+            listener.onFling(0); // dragging, no fling direction
+            listener.onScroll(distance);
+        }
+    }
 
     /**
-     * Set next message to queue. Clears queue before.
+     * Starts fling which stops at the distance chosen by the listener
+     * @param velocity the velocity along scrolling axis, pixels per second
+     */
+    private void fling(int velocity) {
+        lastScrollPosition = 0;
+        motion.fling(lastScrollPosition, -velocity, System.nanoTime());
+        // scroll deltas are opposite to motion positions
+        int distance = listener.onFlingDistance(-motion.getFinalPosition());
+        motion.setFinalPosition(-distance);
+        isFlingSnapped = true;
+        startAnimation(ANIMATION_SCROLL);
+        listener.onFling(velocity < 0 ? SCROLL_DIRECTION_UP : SCROLL_DIRECTION_DOWN);
+    }
+
+
+    // Animations
+    private static final int ANIMATION_NONE    = 0;
+    private static final int ANIMATION_SCROLL  = 1;
+    private static final int ANIMATION_JUSTIFY = 2;
+
+    // Currently running animation
+    private int animation = ANIMATION_NONE;
+
+    // Shared frame clock driving animations
+    private final WheelFrameClock frameClock = WheelFrameClock.getInstance();
+
+    /**
+     * Sets animation to be advanced on next frames. Replaces the running one.
      *
-     * @param message the message to set
+     * @param animation the animation to run
      */
-    private void setNextMessage(int message) {
-        clearMessages();
-        animationHandler.sendEmptyMessage(message);
+    private void startAnimation(int animation) {
+        this.animation = animation;
+        frameClock.addListener(frameListener);
     }
 
     /**
-     * Clears messages from queue
+     * Stops advancing animation
      */
-    private void clearMessages() {
-        animationHandler.removeMessages(MESSAGE_SCROLL);
-        animationHandler.removeMessages(MESSAGE_JUSTIFY);
+    private void stopAnimation() {
+        animation = ANIMATION_NONE;
+        frameClock.removeListener(frameListener);
     }
 
-    // animation handler
-    private Handler animationHandler = new Handler() {
-        public void handleMessage(Message msg) {
-            scroller.computeScrollOffset();
-            int currPosition = getCurrentScrollerPosition();
+    // frame listener, computes position at frame time
+    private final WheelFrameClock.FrameListener frameListener = new WheelFrameClock.FrameListener() {
+        @Override
+        public void onFrame(long frameTimeNanos) {
+            if (animation == ANIMATION_NONE) {
+                // dragging
+                frameClock.removeListener(this);
+                flushTouchDistance();
+                return;
+            }
+
+            motion.computeOffset(frameTimeNanos);
+            int currPosition = motion.getCurrentPosition();
             int delta = lastScrollPosition - currPosition;
             lastScrollPosition = currPosition;
             if (delta != 0) {
                 listener.onScroll(delta);
             }
 
-            // scrolling is not finished when it comes to final Y
-            // so, finish it manually 
-            if (Math.abs(currPosition - getFinalScrollerPosition()) < MIN_DELTA_FOR_SCROLLING) {
-                // currPosition = getFinalScrollerPosition();
-                scroller.forceFinished(true);
+            // scrolling is not finished when it comes to final position
+            // so, finish it manually
+            if (Math.abs(currPosition - motion.getFinalPosition()) < MIN_DELTA_FOR_SCROLLING) {
+                motion.forceFinished(true);
+            }
+            if (!motion.isFinished()) {
+                return; // keep listening
             }
-            if (!scroller.isFinished()) {
-                animationHandler.sendEmptyMessage(msg.what);
-            } else if (msg.what == MESSAGE_SCROLL) {
+            if (animation == ANIMATION_SCROLL && !isFlingSnapped) {
                 justify();
             } else {
+                stopAnimation();
                 finishScrolling();
             }
         }
@@ -263,7 +327,7 @@ public abstract class WheelScroller {
      */
     private void justify() {
         listener.onJustify();
-        setNextMessage(MESSAGE_JUSTIFY);
+        startAnimation(ANIMATION_JUSTIFY);
     }
 
     /**
@@ -286,13 +350,13 @@ public abstract class WheelScroller {
         }
     }
 
-    protected abstract int getCurrentScrollerPosition();
-
-    protected abstract int getFinalScrollerPosition();
-
     protected abstract float getMotionEventPosition(MotionEvent event);
 
-    protected abstract void scrollerStartScroll(int distance, int time);
-
-    protected abstract void scrollerFling(int position, int velocityX, int velocityY);
+    /**
+     * Returns historical position of the MotionEvent along scrolling axis
+     * @param event the motion event
+     * @param pos which historical value to return
+     * @return the historical position
+     */
+    protected abstract float getHistoricalMotionEventPosition(MotionEvent event, int pos);
 }
@@ -0,0 +1,98 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+/**
+ * Tracks velocity along a single axis. Keeps a fixed ring of recent samples,
+ * velocity is a least squares fit over the samples from the last {@link #HORIZON_MILLIS}.
+ */
+public class WheelVelocityTracker {
+
+    /** Number of samples kept */
+    private static final int HISTORY_SIZE = 20;
+
+    /** Only samples this close to the last one are used */
+    private static final long HORIZON_MILLIS = 100;
+
+    // Samples ring
+    private final long[] mTimes = new long[HISTORY_SIZE];
+    private final float[] mPositions = new float[HISTORY_SIZE];
+    private int mLast = -1;
+    private int mCount;
+
+    /**
+     * Forgets all the samples
+     */
+    public void clear() {
+        mLast = -1;
+        mCount = 0;
+    }
+
+    /**
+     * Adds a sample. Samples must be added in time order.
+     * @param timeMillis the sample time
+     * @param position the position along tracked axis
+     */
+    public void addSample(long timeMillis, float position) {
+        mLast = (mLast + 1) % HISTORY_SIZE;
+        mTimes[mLast] = timeMillis;
+        mPositions[mLast] = position;
+        if (mCount < HISTORY_SIZE) {
+            mCount++;
+        }
+    }
+
+    /**
+     * Computes velocity at the time of the last sample
+     * @return velocity in pixels per second, 0 if there is not enough recent samples
+     */
+    public float computeVelocity() {
+        if (mCount < 2) {
+            return 0;
+        }
+
+        long lastTime = mTimes[mLast];
+        float lastPosition = mPositions[mLast];
+        int n = 0;
+        double sumT = 0, sumP = 0, sumTT = 0, sumTP = 0;
+        for (int i = 0, index = mLast; i < mCount; i++) {
+            long age = lastTime - mTimes[index];
+            if (age > HORIZON_MILLIS) {
+                break;
+            }
+            // relative values keep the sums well conditioned
+            double t = -age / 1000.0;
+            double p = mPositions[index] - lastPosition;
+            sumT += t;
+            sumP += p;
+            sumTT += t * t;
+            sumTP += t * p;
+            n++;
+            index = index == 0 ? HISTORY_SIZE - 1 : index - 1;
+        }
+        if (n < 2) {
+            return 0;
+        }
+
+        double denominator = n * sumTT - sumT * sumT;
+        if (denominator == 0) {
+            return 0;
+        }
+        return (float) ((n * sumTP - sumT * sumP) / denominator);
+    }
+}
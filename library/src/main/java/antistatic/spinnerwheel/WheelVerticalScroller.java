@@ -41,16 +41,6 @@ public class WheelVerticalScroller extends WheelScroller {
         super(context, listener);
     }
 
-    @Override
-    protected int getCurrentScrollerPosition() {
-        return scroller.getCurrY();
-    }
-
-    @Override
-    protected int getFinalScrollerPosition() {
-        return scroller.getFinalY();
-    }
-
     @Override
     protected float getMotionEventPosition(MotionEvent event) {
         // should be overriden
@@ -58,14 +48,7 @@ public class WheelVerticalScroller extends WheelScroller {
     }
 
     @Override
-    protected void scrollerStartScroll(int distance, int time) {
-        scroller.startScroll(0, 0, 0, distance, time);
-    }
-
-    @Override
-    protected void scrollerFling(int position, int velocityX, int velocityY) {
-        final int maxPosition = 0x7FFFFFFF;
-        final int minPosition = -maxPosition;
-        scroller.fling(0, position, 0, -velocityY, 0, 0, minPosition, maxPosition);
+    protected float getHistoricalMotionEventPosition(MotionEvent event, int pos) {
+        return event.getHistoricalY(pos);
     }
 }
@@ -52,9 +52,6 @@ public class WheelVerticalView extends AbstractWheelView {
 
     // Cached item height
     private int mItemHeight = 0;
-    public Canvas mC;
-    public Canvas mCSpin;
-    public Canvas mCSeparators;
 
     //--------------------------------------------------------------------------
     //
@@ -108,17 +105,8 @@ public class WheelVerticalView extends AbstractWheelView {
         a.recycle();
     }
 
-    @Override protected void recreateAssets(int width, int height) {
-        super.recreateAssets(width, height);
-        mC = new Canvas(mSpinBitmap);
-        mCSpin = new Canvas(mSpinBitmap);
-        mCSeparators = new Canvas(mSeparatorsBitmap);
-    }
-
     @Override
-    public void setSelectorPaintCoeff(float coeff) {
-        LinearGradient shader;
-
+    protected Shader createSelectorShader(float coeff) {
         int h = getMeasuredHeight();
         int ih = getItemDimension();
         float p1 = (1 - ih/(float) h)/2;
@@ -131,7 +119,7 @@ public class WheelVerticalView extends AbstractWheelView {
             int c2 = Math.round( z ) << 24;
             int[] colors =      {c2, c1, 0xff000000, 0xff000000, c1, c2};
             float[] positions = { 0, p1,     p1,         p2,     p2,  1};
-            shader = new LinearGradient(0, 0, 0, h, colors, positions, Shader.TileMode.CLAMP);
+            return new LinearGradient(0, 0, 0, h, colors, positions, Shader.TileMode.CLAMP);
         } else {
             float p3 = (1 - ih*3/(float) h)/2;
             float p4 = (1 + ih*3/(float) h)/2;
@@ -146,10 +134,8 @@ public class WheelVerticalView extends AbstractWheelView {
 
             int[] colors =      {0, c3, c2, c1, 0xff000000, 0xff000000, c1, c2, c3, 0};
             float[] positions = {0, p3, p3, p1,     p1,         p2,     p2, p4, p4, 1};
-            shader = new LinearGradient(0, 0, 0, h, colors, positions, Shader.TileMode.CLAMP);
+            return new LinearGradient(0, 0, 0, h, colors, positions, Shader.TileMode.CLAMP);
         }
-        mSelectorWheelPaint.setShader(shader);
-        invalidate();
     }
 
 
@@ -186,12 +172,21 @@ public class WheelVerticalView extends AbstractWheelView {
      */
     @Override
     protected int getItemDimension() {
+        if (mItemExtent > 0) {
+            return mItemExtent;
+        }
+        if (isStripRendering()) {
+            return getStripItemExtent();
+        }
+        if (isTextRendering()) {
+            return getItemTextHeight();
+        }
         if (mItemHeight != 0) {
             return mItemHeight;
         }
 
-        if (mItemsLayout != null && mItemsLayout.getChildAt(0) != null) {
-            mItemHeight = mItemsLayout.getChildAt(0).getMeasuredHeight();
+        if (mItems != null && mItems.size() > 0) {
+            mItemHeight = mItems.get(0).getMeasuredHeight();
             return mItemHeight;
         }
 
@@ -205,31 +200,30 @@ public class WheelVerticalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     /**
-     * Creates item layout if necessary
+     * Creates items window if necessary
      */
     @Override
     protected void createItemsLayout() {
+        if (mItems == null) {
+            mItems = new WheelItemWindow(LinearLayout.VERTICAL);
+        }
         if (mItemsLayout == null) {
             mItemsLayout = new LinearLayout(getContext());
             mItemsLayout.setOrientation(LinearLayout.VERTICAL);
+            // set once, measuring passes reuse them
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         }
     }
 
     @Override
     protected void doItemsLayout() {
-        mItemsLayout.layout(0, 0, getMeasuredWidth() - 2 * mItemsPadding, getMeasuredHeight());
+        mItems.layout();
     }
 
 
     @Override
     protected void measureLayout() {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(getWidth() - 2 * mItemsPadding, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
-        );
-        
+        mItems.measure(MeasureSpec.makeMeasureSpec(getWidth() - 2 * mItemsPadding, MeasureSpec.EXACTLY));
     }
 
 
@@ -268,16 +262,21 @@ public class WheelVerticalView extends AbstractWheelView {
      * @return the calculated control width
      */
     private int calculateLayoutWidth(int widthSize, int mode) {
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
-        );
-        int width = mItemsLayout.getMeasuredWidth();
-
+        int width;
         if (mode == MeasureSpec.EXACTLY) {
-            width = widthSize;
+            width = widthSize; // items are not measured for nothing
         } else {
+            int widthSpec = MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED);
+            width = isTextRendering() ? getItemTextWidth() : getWidestItemWidth(widthSpec);
+            if (width < 0 && isStripRendering()) {
+                width = getStripCrossSize();
+            } else if (width < 0 && isTextRendering()) {
+                width = 0; // no labels to measure
+            } else if (width < 0) {
+                // no hint, sizing by items shown now
+                mItems.measure(widthSpec);
+                width = mItems.getMeasuredWidth();
+            }
             width += 2 * mItemsPadding;
 
             // Check against our minimum width
@@ -288,11 +287,10 @@ public class WheelVerticalView extends AbstractWheelView {
             }
         }
 
-        // forcing recalculating
-        mItemsLayout.measure(
-                MeasureSpec.makeMeasureSpec(width - 2 * mItemsPadding, MeasureSpec.EXACTLY),
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
-        );
+        // forcing recalculating, labels and strip do not use item views
+        if (!isTextRendering() && !isStripRendering()) {
+            mItems.measure(MeasureSpec.makeMeasureSpec(width - 2 * mItemsPadding, MeasureSpec.EXACTLY));
+        }
 
         return width;
     }
@@ -305,45 +303,38 @@ public class WheelVerticalView extends AbstractWheelView {
     //--------------------------------------------------------------------------
 
     @Override
-    protected void drawItems(Canvas canvas) {
-        canvas.save();
-        int w = getMeasuredWidth();
-        int h = getMeasuredHeight();
+    protected void drawItemsLayout(Canvas canvas) {
+        if (isTextRendering()) {
+            drawItemLabels(canvas, getWidth() / 2f, getHeight() / 2f + mScrollingOffset, 0, getItemDimension());
+            return;
+        }
         int ih = getItemDimension();
-
-        // resetting intermediate bitmap and recreating canvases
-        mSpinBitmap.eraseColor(0);
-        mC.save();
-        mCSpin.save();
-
-        int top = (mCurrentItemIdx - mFirstItemIdx) * ih + (ih - getHeight()) / 2;
-        mC.translate(mItemsPadding, - top + mScrollingOffset);
-        mItemsLayout.draw(mC);
-
-        mSeparatorsBitmap.eraseColor(0);
-
-        if (mSelectionDivider != null) {
-            // draw the top divider
-            int topOfTopDivider = (getHeight() - ih - mSelectionDividerHeight) / 2;
-            int bottomOfTopDivider = topOfTopDivider + mSelectionDividerHeight;
-            mSelectionDivider.setBounds(0, topOfTopDivider, w, bottomOfTopDivider);
-            mSelectionDivider.draw(mCSeparators);
-
-            // draw the bottom divider
-            int topOfBottomDivider =  topOfTopDivider + ih;
-            int bottomOfBottomDivider = bottomOfTopDivider + ih;
-            mSelectionDivider.setBounds(0, topOfBottomDivider, w, bottomOfBottomDivider);
-            mSelectionDivider.draw(mCSeparators);
+        if (isStripRendering()) {
+            canvas.translate(mItemsPadding, 0);
+            drawItemStrip(canvas, (getHeight() - ih) / 2 + mScrollingOffset);
+            return;
         }
+        int top = (mCurrentItemIdx - mFirstItemIdx) * ih + (ih - getHeight()) / 2;
+        canvas.translate(mItemsPadding, - top + mScrollingOffset);
+        mItems.draw(canvas, getItemEmphasis(), getHeight() / 2f + top - mScrollingOffset);
+    }
 
-        mCSpin.drawRect(0, 0, w, h, mSelectorWheelPaint);
-        mCSeparators.drawRect(0, 0, w, h, mSeparatorsPaint);
+    @Override
+    protected void drawSelectionDividers(Canvas canvas) {
+        int w = getMeasuredWidth();
+        int ih = getItemDimension();
 
-        canvas.drawBitmap(mSpinBitmap, 0, 0, null);
-        canvas.drawBitmap(mSeparatorsBitmap, 0, 0, null);
-        canvas.restore();
-        mC.restore();
-        mCSpin.restore();
+        // draw the top divider
+        int topOfTopDivider = (getHeight() - ih - mSelectionDividerHeight) / 2;
+        int bottomOfTopDivider = topOfTopDivider + mSelectionDividerHeight;
+        mSelectionDivider.setBounds(0, topOfTopDivider, w, bottomOfTopDivider);
+        mSelectionDivider.draw(canvas);
+
+        // draw the bottom divider
+        int topOfBottomDivider =  topOfTopDivider + ih;
+        int bottomOfBottomDivider = bottomOfTopDivider + ih;
+        mSelectionDivider.setBounds(0, topOfBottomDivider, w, bottomOfBottomDivider);
+        mSelectionDivider.draw(canvas);
     }
 
 }
@@ -0,0 +1,220 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel;
+
+import android.view.View;
+
+/**
+ * Pool of detached item views, kept in a bounded stack per view type.
+ * By default every spinnerwheel has its own pool. Wheels using the same item layouts
+ * may share one pool with {@link AbstractWheel#setViewPool(WheelViewPool)},
+ * so views scrolled out of one wheel are reused by another.
+ * Must be used from the main thread only.
+ */
+public class WheelViewPool {
+
+    /** View type of empty items, shown out of bounds of non-cyclic spinnerwheel */
+    public static final int TYPE_EMPTY = -1;
+
+    /** View type of items shown from rendered item cache */
+    public static final int TYPE_RENDERED = -2;
+
+    /** Default number of views kept per type */
+    public static final int DEF_MAX_VIEWS = 12;
+
+    // Stacks, indexed by view type shifted by TYPE_RENDERED
+    private ViewStack[] mStacks = new ViewStack[3];
+
+    private int mDefaultMaxViews = DEF_MAX_VIEWS;
+
+    // Counters
+    private int mHitCount;
+    private int mMissCount;
+
+    /**
+     * Gets view of given type from the pool
+     * @param type the view type
+     * @return the pooled view or null if there are no views of this type
+     */
+    public View getView(int type) {
+        ViewStack stack = getStack(type, false);
+        View view = stack != null ? stack.pop() : null;
+        if (view != null) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+        return view;
+    }
+
+    /**
+     * Puts view to the pool. The view is dropped if the pool is full for this type.
+     * @param type the view type
+     * @param view the view detached from its parent
+     * @return true if view has been pooled
+     */
+    public boolean putView(int type, View view) {
+        return getStack(type, true).push(view);
+    }
+
+    /**
+     * Sets maximum number of views kept for given type. Extra pooled views are dropped.
+     * @param type the view type
+     * @param max the maximum number of views
+     */
+    public void setMaxViews(int type, int max) {
+        getStack(type, true).setCapacity(max);
+    }
+
+    /**
+     * Creates stacks for view types 0 to count - 1 ahead, so pooling views while scrolling
+     * does not grow the pool
+     * @param count the number of view types
+     */
+    public void ensureViewTypeCount(int count) {
+        for (int type = 0; type < count; type++) {
+            getStack(type, true);
+        }
+    }
+
+    /**
+     * Sets maximum number of views kept for types without explicit capacity
+     * @param max the maximum number of views, {@link #DEF_MAX_VIEWS} by default
+     */
+    public void setDefaultMaxViews(int max) {
+        mDefaultMaxViews = max;
+    }
+
+    /**
+     * Gets number of views of given type in the pool
+     * @param type the view type
+     * @return the number of pooled views
+     */
+    public int getViewCount(int type) {
+        ViewStack stack = getStack(type, false);
+        return stack != null ? stack.mSize : 0;
+    }
+
+    /**
+     * Gets number of requests served from the pool
+     * @return the hit count
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Gets number of requests the pool had no view for
+     * @return the miss count
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Resets hit and miss counters
+     */
+    public void resetCounters() {
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+
+    /**
+     * Drops all pooled views
+     */
+    public void clear() {
+        for (ViewStack stack : mStacks) {
+            if (stack != null) {
+                stack.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets stack for view type
+     * @param type the view type
+     * @param create whether missing stack should be created
+     * @return the stack, null if it does not exist and should not be created
+     */
+    private ViewStack getStack(int type, boolean create) {
+        int index = type - TYPE_RENDERED;
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid view type: " + type);
+        }
+        if (index >= mStacks.length) {
+            if (!create) {
+                return null;
+            }
+            ViewStack[] stacks = new ViewStack[index + 1];
+            System.arraycopy(mStacks, 0, stacks, 0, mStacks.length);
+            mStacks = stacks;
+        }
+        ViewStack stack = mStacks[index];
+        if (stack == null && create) {
+            stack = new ViewStack(mDefaultMaxViews);
+            mStacks[index] = stack;
+        }
+        return stack;
+    }
+
+    /**
+     * Bounded array-backed stack of views
+     */
+    private static class ViewStack {
+        private View[] mViews;
+        private int mSize;
+
+        ViewStack(int capacity) {
+            mViews = new View[capacity];
+        }
+
+        boolean push(View view) {
+            if (mSize == mViews.length) {
+                return false;
+            }
+            mViews[mSize++] = view;
+            return true;
+        }
+
+        View pop() {
+            if (mSize == 0) {
+                return null;
+            }
+            View view = mViews[--mSize];
+            mViews[mSize] = null;
+            return view;
+        }
+
+        void setCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Invalid capacity: " + capacity);
+            }
+            View[] views = new View[capacity];
+            mSize = Math.min(mSize, capacity);
+            System.arraycopy(mViews, 0, views, 0, mSize);
+            mViews = views;
+        }
+
+        void clear() {
+            for (int i = 0; i < mSize; i++) {
+                mViews[i] = null;
+            }
+            mSize = 0;
+        }
+    }
+}
@@ -34,10 +34,42 @@ import android.view.ViewGroup;
 /**
  * Abstract Wheel adapter.
  */
-public abstract class AbstractWheelAdapter implements WheelViewAdapter {
+public abstract class AbstractWheelAdapter implements ExtendedWheelViewAdapter {
     // Observers
     private List<DataSetObserver> datasetObservers;
+
+    // Bulk update state
+    private static final int UPDATE_NONE = 0;
+    private static final int UPDATE_CHANGED = 1;
+    private static final int UPDATE_INVALIDATED = 2;
+    private int updateDepth;
+    private int pendingUpdate = UPDATE_NONE;
     
+    @Override
+    public int getItemViewType(int index) {
+        return 0;
+    }
+
+    @Override
+    public int getViewTypeCount() {
+        return 1;
+    }
+
+    @Override
+    public int getWidestItemIndex() {
+        return -1;
+    }
+
+    @Override
+    public boolean isItemEnabled(int index) {
+        return true;
+    }
+
+    @Override
+    public Object getItemKey(int index) {
+        return null;
+    }
+
     @Override
     public View getEmptyItem(View convertView, ViewGroup parent) {
         return null;
@@ -58,10 +90,56 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
         }
     }
     
+    /**
+     * Starts bulk update. Until matching {@link #endUpdate()} observers are not notified,
+     * then they get a single notification, invalidation if any of the changes was invalidation.
+     * Item level changes are merged into data change, so wheels do not follow inserted
+     * and removed items within bulk update. Calls may be nested.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends bulk update started by {@link #beginUpdate()}, notifying observers about changes made.
+     */
+    public void endUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("endUpdate() without matching beginUpdate()");
+        }
+        if (--updateDepth == 0) {
+            int update = pendingUpdate;
+            pendingUpdate = UPDATE_NONE;
+            if (update == UPDATE_INVALIDATED) {
+                notifyDataInvalidatedEvent();
+            } else if (update == UPDATE_CHANGED) {
+                notifyDataChangedEvent();
+            }
+        }
+    }
+
+    /**
+     * Records change made within bulk update
+     * @param update the change
+     * @return true if observers should not be notified now
+     */
+    private boolean deferUpdate(int update) {
+        if (updateDepth == 0) {
+            return false;
+        }
+        if (update > pendingUpdate) {
+            pendingUpdate = update;
+        }
+        return true;
+    }
+
     /**
      * Notifies observers about data changing
      */
     protected void notifyDataChangedEvent() {
+        if (deferUpdate(UPDATE_CHANGED)) {
+            return;
+        }
         if (datasetObservers != null) {
             for (DataSetObserver observer : datasetObservers) {
                 observer.onChanged();
@@ -73,10 +151,144 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
      * Notifies observers about invalidating data
      */
     protected void notifyDataInvalidatedEvent() {
+        if (deferUpdate(UPDATE_INVALIDATED)) {
+            return;
+        }
         if (datasetObservers != null) {
             for (DataSetObserver observer : datasetObservers) {
                 observer.onInvalidated();
             }
         }
     }
+
+    /**
+     * Notifies observers about changed item
+     * @param index the item index
+     */
+    protected void notifyItemChanged(int index) {
+        notifyItemRangeChanged(index, 1);
+    }
+
+    /**
+     * Notifies observers about changed items. Items count and positions must stay the same.
+     * @param start the index of the first changed item
+     * @param count the number of changed items
+     */
+    protected void notifyItemRangeChanged(int start, int count) {
+        if (deferUpdate(UPDATE_CHANGED)) {
+            return;
+        }
+        if (datasetObservers != null) {
+            for (DataSetObserver observer : datasetObservers) {
+                if (observer instanceof WheelDataObserver) {
+                    ((WheelDataObserver) observer).onItemRangeChanged(start, count);
+                } else {
+                    observer.onChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies observers about inserted item
+     * @param index the index of inserted item
+     */
+    protected void notifyItemInserted(int index) {
+        notifyItemRangeInserted(index, 1);
+    }
+
+    /**
+     * Notifies observers about inserted items. Must be called after items count has changed.
+     * @param start the index of the first inserted item
+     * @param count the number of inserted items
+     */
+    protected void notifyItemRangeInserted(int start, int count) {
+        if (deferUpdate(UPDATE_CHANGED)) {
+            return;
+        }
+        if (datasetObservers != null) {
+            for (DataSetObserver observer : datasetObservers) {
+                if (observer instanceof WheelDataObserver) {
+                    ((WheelDataObserver) observer).onItemRangeInserted(start, count);
+                } else {
+                    observer.onChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies observers about removed item
+     * @param index the index removed item had
+     */
+    protected void notifyItemRemoved(int index) {
+        notifyItemRangeRemoved(index, 1);
+    }
+
+    /**
+     * Notifies observers about removed items. Must be called after items count has changed.
+     * @param start the index the first removed item had
+     * @param count the number of removed items
+     */
+    protected void notifyItemRangeRemoved(int start, int count) {
+        if (deferUpdate(UPDATE_CHANGED)) {
+            return;
+        }
+        if (datasetObservers != null) {
+            for (DataSetObserver observer : datasetObservers) {
+                if (observer instanceof WheelDataObserver) {
+                    ((WheelDataObserver) observer).onItemRangeRemoved(start, count);
+                } else {
+                    observer.onChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies observers that the lower bound of consecutive values shown by items has moved.
+     * Items of values remaining in range keep their views. Must be called after the bound has changed.
+     * @param oldMin the old lower bound
+     * @param min the new lower bound
+     * @param max the upper bound
+     */
+    protected void notifyMinValueChanged(long oldMin, long min, long max) {
+        if (oldMin > max || min > max || max - oldMin >= Integer.MAX_VALUE || max - min >= Integer.MAX_VALUE) {
+            notifyDataInvalidatedEvent(); // empty range, or more values than items
+        } else if (min < oldMin) {
+            notifyItemRangeInserted(0, (int) (oldMin - min));
+        } else if (min > oldMin) {
+            notifyItemRangeRemoved(0, (int) (min - oldMin));
+        }
+    }
+
+    /**
+     * Notifies observers that the upper bound of consecutive values shown by items has moved.
+     * Items of values remaining in range keep their views. Must be called after the bound has changed.
+     * @param min the lower bound
+     * @param oldMax the old upper bound
+     * @param max the new upper bound
+     */
+    protected void notifyMaxValueChanged(long min, long oldMax, long max) {
+        if (min > oldMax || min > max || oldMax - min >= Integer.MAX_VALUE || max - min >= Integer.MAX_VALUE) {
+            notifyDataInvalidatedEvent(); // empty range, or more values than items
+        } else if (max > oldMax) {
+            notifyItemRangeInserted((int) (oldMax - min + 1), (int) (max - oldMax));
+        } else if (max < oldMax) {
+            notifyItemRangeRemoved((int) (max - min + 1), (int) (oldMax - max));
+        }
+    }
+
+    /**
+     * Notifies observers that {@link #getWidestItemIndex()} returns another item
+     */
+    protected void notifyWidestItemChanged() {
+        if (datasetObservers != null) {
+            for (DataSetObserver observer : datasetObservers) {
+                if (observer instanceof WheelDataObserver) {
+                    ((WheelDataObserver) observer).onWidestItemChanged();
+                }
+            }
+        }
+    }
 }
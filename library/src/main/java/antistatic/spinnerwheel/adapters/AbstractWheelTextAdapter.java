@@ -24,7 +24,11 @@
 package antistatic.spinnerwheel.adapters;
 
 import android.content.Context;
+import android.graphics.Paint;
 import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextPaint;
 import android.util.Log;
 import android.view.Gravity;
 import android.view.LayoutInflater;
@@ -33,10 +37,12 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import antistatic.spinnerwheel.R;
 
+import java.util.concurrent.Executor;
+
 /**
  * Abstract spinnerwheel adapter provides common functionality for adapters.
  */
-public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
+public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter implements WheelTextAdapter {
     
     /** Text view resource. Used as a default view for adapter. */
     public static final int TEXT_VIEW_ITEM_RESOURCE = -1;
@@ -47,18 +53,32 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     /** Default text color */
     public static final int DEFAULT_TEXT_COLOR = 0xFF101010;
     
+    /** Default text color of disabled items */
+    public static final int DEFAULT_DISABLED_TEXT_COLOR = 0x50101010;
+
     /** Default text color */
     public static final int LABEL_COLOR = 0xFF700070;
     
     /** Default text size */
     public static final int DEFAULT_TEXT_SIZE = 24;
 
+    /** Adapters with this many items at most are searched for the widest item on the main thread */
+    private static final int WIDEST_ITEM_SYNC_ITEMS = 32;
+
+    /** Number of items sampled on background executor when searching for the widest item */
+    private static final int WIDEST_ITEM_SAMPLES = 256;
+
     /// Custom text typeface
     private Typeface textTypeface;
     
     // Text settings
     private int textColor = DEFAULT_TEXT_COLOR;
+    private int disabledTextColor = DEFAULT_DISABLED_TEXT_COLOR;
     private int textSize = DEFAULT_TEXT_SIZE;
+    // Selection styling, set explicitly or following emphasis of the spinnerwheel
+    private boolean selectionStyled = true;
+    private boolean isSelectionStyleSet;
+    private boolean selectionEmphasized;
     
     // Current context
     protected Context context;
@@ -72,6 +92,22 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     // Empty items resources
     protected int emptyItemResourceId;
 
+    // Background text precomputation, off unless executor is set
+    private Executor precomputeExecutor;
+    private int precomputeRange;
+    private Handler precomputeHandler;
+    // Texts computed ahead, by index
+    private TextSlots precomputedTexts;
+    // Computes requested texts on the executor
+    private TextPrecomputer precomputer;
+    // Incremented when data changes, so results computed for old data are dropped
+    private volatile int textGeneration;
+
+    // Widest item, valid while text generation is the one it was found for
+    private int widestItemIndex = -1;
+    private int widestItemGeneration = -1;
+    private boolean isWidestItemPending;
+
 
     /**
      * Constructor
@@ -120,12 +156,37 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
         this.textColor = textColor;
     }
 
+    /**
+     * Gets text color of disabled items
+     * @return the text color
+     */
+    public int getDisabledTextColor() {
+        return disabledTextColor;
+    }
+
+    /**
+     * Sets text color of disabled items
+     * @param disabledTextColor the text color to set
+     */
+    public void setDisabledTextColor(int disabledTextColor) {
+        this.disabledTextColor = disabledTextColor;
+    }
+
+    /**
+     * Gets text typeface
+     * @return the custom typeface, or the default one items are styled with
+     */
+    public Typeface getTextTypeface() {
+        return textTypeface != null ? textTypeface : Typeface.create(Typeface.SANS_SERIF, getDefaultTextStyle());
+    }
+
     /**
      * Sets text typeface
      * @param typeface typeface to set
      */
     public void setTextTypeface(Typeface typeface) {
         this.textTypeface = typeface;
+        dropPrecomputedTexts(); // widths depend on typeface
     }
 
     /**
@@ -142,8 +203,41 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextSize(int textSize) {
         this.textSize = textSize;
+        dropPrecomputedTexts(); // precomputed widths depend on text size
     }
     
+    /**
+     * Tests if text views of selected items are configured apart from other ones.
+     * Unless set by {@link #setSelectionStyled(boolean)}, they are not once the spinnerwheel
+     * emphasizes the selected item when drawing, see {@link #setSelectionEmphasized(boolean)}.
+     * @return true if text views are configured again when selection moves
+     */
+    public boolean isSelectionStyled() {
+        return isSelectionStyleSet ? selectionStyled : !selectionEmphasized;
+    }
+
+    /**
+     * Sets if text views of selected items are configured apart from other ones.
+     * Reconfiguring sets text attributes which lay the view out again, so wheels emphasizing
+     * the selected item when drawing turn it off by default: text views are then configured once.
+     * The value set here takes precedence over the emphasis of the spinnerwheel.
+     * @param selectionStyled false to configure text views as not selected ones only
+     */
+    public void setSelectionStyled(boolean selectionStyled) {
+        this.selectionStyled = selectionStyled;
+        isSelectionStyleSet = true;
+    }
+
+    /**
+     * Tells the adapter that its spinnerwheel emphasizes the selected item when drawing.
+     * Called by the spinnerwheel when the adapter is set or emphasis is configured.
+     * Adapters shared by several spinnerwheels follow the last one configured.
+     * @param selectionEmphasized true if the selected item is emphasized when drawn
+     */
+    public void setSelectionEmphasized(boolean selectionEmphasized) {
+        this.selectionEmphasized = selectionEmphasized;
+    }
+
     /**
      * Gets resource Id for items views
      * @return the item resource Id
@@ -192,6 +286,174 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
         this.emptyItemResourceId = emptyItemResourceId;
     }
 
+    /**
+     * Turns on computing texts of items around the bound one on background executor.
+     * Binding then takes the computed text instead of calling {@link #getItemText(int)}.
+     * Once turned on, {@link #getItemText(int)} must be safe to call from executor threads.
+     * Texts are measured there as well, with the text size and typeface of the adapter,
+     * so spinnerwheels drawing texts themselves get their widths without measuring them,
+     * see {@link #getPrecomputedTextWidth(int)}. Text views still lay their text out
+     * on the main thread when bound, as there is no precomputed text layout before API 28.
+     * @param executor the executor, null to turn precomputation off
+     * @param range the count of items computed before and after the bound one
+     */
+    public void setTextPrecomputeExecutor(Executor executor, int range) {
+        dropPrecomputedTexts();
+        precomputeExecutor = executor;
+        precomputeRange = range;
+        if (executor != null) {
+            precomputedTexts = new TextSlots(2 * (2 * range + 1));
+            if (precomputeHandler == null) {
+                precomputeHandler = new Handler(Looper.getMainLooper());
+            }
+            precomputer = new TextPrecomputer(executor, precomputedTexts);
+        } else {
+            precomputedTexts = null;
+            precomputer = null;
+        }
+    }
+
+    /**
+     * Gets width of item text computed on the precompute executor
+     * @param index the item index
+     * @return the width in pixels, -1 if it has not been computed
+     */
+    public float getPrecomputedTextWidth(int index) {
+        return precomputedTexts != null ? precomputedTexts.getWidth(index) : -1;
+    }
+
+    /**
+     * Gets text of item, precomputed one if available
+     * @param index the item index
+     * @return the text
+     */
+    private CharSequence getBindingText(int index) {
+        if (precomputeExecutor == null) {
+            return getItemText(index);
+        }
+        CharSequence text = precomputedTexts.get(index);
+        if (text == null) {
+            text = getItemText(index);
+            precomputedTexts.put(index, text, -1);
+        }
+        precomputeTexts(index);
+        return text;
+    }
+
+    /**
+     * Starts computing texts of items around the specified one
+     * @param center the item index
+     */
+    private void precomputeTexts(int center) {
+        int count = getItemsCount();
+        int range = Math.min(precomputeRange, (count - 1) / 2);
+        for (int i = center - range; i <= center + range; i++) {
+            // wrapping around, wheel may be cyclic
+            int index = (i % count + count) % count;
+            if (!precomputedTexts.startComputing(index)) {
+                continue; // computed or being computed
+            }
+            if (!precomputer.request(index)) {
+                precomputedTexts.finishComputing(index, null, -1);
+            }
+        }
+    }
+
+    /**
+     * Finds the widest item by measuring item texts. Small adapters are searched
+     * on the main thread, bigger ones are sampled on the precompute executor if it is set.
+     * @return the item index, -1 if not known yet
+     */
+    @Override
+    public int getWidestItemIndex() {
+        if (widestItemGeneration == textGeneration) {
+            return widestItemIndex;
+        }
+        int count = getItemsCount();
+        if (count <= WIDEST_ITEM_SYNC_ITEMS) {
+            widestItemIndex = findWidestItem(count, count);
+            widestItemGeneration = textGeneration;
+            return widestItemIndex;
+        }
+        if (precomputer != null && !isWidestItemPending) {
+            isWidestItemPending = true;
+            precomputer.requestWidestItem(count);
+        }
+        return -1;
+    }
+
+    /**
+     * Measures texts of items spread evenly over the adapter, including the first and the last one.
+     * Only relative widths matter, so text size is left as is.
+     * @param count the items count
+     * @param samples the number of items to measure
+     * @return the index of the widest measured item, -1 if there are no texts
+     */
+    private int findWidestItem(int count, int samples) {
+        Paint paint = new Paint();
+        paint.setTypeface(getTextTypeface());
+        samples = Math.min(samples, count);
+        int widest = -1;
+        float widestWidth = -1;
+        for (int i = 0; i < samples; i++) {
+            int index = samples == count ? i : (int) ((long) i * (count - 1) / (samples - 1));
+            CharSequence text = getItemText(index);
+            if (text == null) {
+                continue;
+            }
+            float width = paint.measureText(text, 0, text.length());
+            if (width > widestWidth) {
+                widest = index;
+                widestWidth = width;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Drops precomputed texts and cancels pending computations
+     */
+    private void dropPrecomputedTexts() {
+        textGeneration++;
+        isWidestItemPending = false;
+        if (precomputer != null) {
+            precomputer.cancel();
+        }
+        if (precomputedTexts != null) {
+            precomputedTexts.clear();
+        }
+    }
+
+    @Override
+    protected void notifyDataChangedEvent() {
+        dropPrecomputedTexts();
+        super.notifyDataChangedEvent();
+    }
+
+    @Override
+    protected void notifyDataInvalidatedEvent() {
+        dropPrecomputedTexts();
+        super.notifyDataInvalidatedEvent();
+    }
+
+    @Override
+    protected void notifyItemRangeChanged(int start, int count) {
+        dropPrecomputedTexts();
+        super.notifyItemRangeChanged(start, count);
+    }
+
+    @Override
+    protected void notifyItemRangeInserted(int start, int count) {
+        dropPrecomputedTexts();
+        super.notifyItemRangeInserted(start, count);
+    }
+
+    @Override
+    protected void notifyItemRangeRemoved(int start, int count) {
+        dropPrecomputedTexts();
+        super.notifyItemRangeRemoved(start, count);
+    }
+
     /**
      * Returns text for specified item
      * @param index the item index
@@ -199,24 +461,74 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     protected abstract CharSequence getItemText(int index);
 
+    /**
+     * Items are texts when they use the default text view, custom item layouts need views
+     */
+    @Override
+    public boolean isTextRenderable() {
+        return itemResourceId == TEXT_VIEW_ITEM_RESOURCE;
+    }
+
+    @Override
+    public CharSequence getItemLabel(int index) {
+        if (index >= 0 && index < getItemsCount()) {
+            return getBindingText(index);
+        }
+        return null;
+    }
+
     @Override
     public View getItem(int index, View convertView, ViewGroup parent, int currentItemIdx) {
         if (index >= 0 && index < getItemsCount()) {
-            if (convertView == null) {
-                convertView = getView(itemResourceId, parent);
+            return getTextItem(getBindingText(index), index == currentItemIdx, isItemEnabled(index), convertView, parent);
+        }
+        return null;
+    }
+
+    /**
+     * Binds text to item view
+     * @param text the item text
+     * @param isSelectedItem whether the item is the current one
+     * @param convertView the old view to reuse if possible
+     * @param parent the parent that this view will eventually be attached to
+     * @return the item view
+     */
+    protected View getTextItem(CharSequence text, boolean isSelectedItem, View convertView, ViewGroup parent) {
+        return getTextItem(text, isSelectedItem, true, convertView, parent);
+    }
+
+    /**
+     * Binds text to item view
+     * @param text the item text
+     * @param isSelectedItem whether the item is the current one
+     * @param isEnabled whether the item is enabled, disabled items of default text view are dimmed
+     * @param convertView the old view to reuse if possible
+     * @param parent the parent that this view will eventually be attached to
+     * @return the item view
+     */
+    protected View getTextItem(CharSequence text, boolean isSelectedItem, boolean isEnabled, View convertView, ViewGroup parent) {
+        if (convertView == null) {
+            convertView = getView(itemResourceId, parent);
+        }
+        TextView textView = getTextView(convertView, itemTextResourceId);
+        if (textView != null) {
+            if (text == null) {
+                text = "";
             }
-            TextView textView = getTextView(convertView, itemTextResourceId);
-            if (textView != null) {
-                CharSequence text = getItemText(index);
-                if (text == null) {
-                    text = "";
+            textView.setText(text);
+            configureTextView(textView, isSelectedItem);
+            if (!isEnabled && itemResourceId == TEXT_VIEW_ITEM_RESOURCE) {
+                if (textView.getCurrentTextColor() != disabledTextColor) {
+                    textView.setTextColor(disabledTextColor);
                 }
-                textView.setText(text);
-                configureTextView(textView, index == currentItemIdx);
+                // configured again once enabled, restoring the color onConfigureTextView() sets
+                textView.setTag(R.id.wheel_text_view_configured_state, null);
             }
-            return convertView;
         }
-        return null;
+        if (convertView != null) {
+            convertView.setEnabled(isEnabled); // for color state lists of custom layouts
+        }
+        return convertView;
     }
 
     @Override
@@ -237,6 +549,9 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      * @param isSelectedItem
      */
     protected void configureTextView(TextView textView, boolean isSelectedItem) {
+        if (!isSelectionStyled()) {
+            isSelectedItem = false;
+        }
         Boolean tag = (Boolean) textView.getTag(R.id.wheel_text_view_configured_state);
         if(tag == null || tag != isSelectedItem) {
             textView.setTag(R.id.wheel_text_view_configured_state, isSelectedItem);
@@ -302,4 +617,284 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
             return inflater.inflate(resource, parent, false);
         }
     }
+
+    /**
+     * Texts of items around the bound one, in slots indexed by item index modulo slots count.
+     * Nearby items never share a slot, items far away just replace older texts.
+     * Keys are plain ints, so lookups on binding do not box indices.
+     */
+    private static class TextSlots {
+        private final int[] indices;
+        private final CharSequence[] texts;
+        private final float[] widths;
+        // index being computed in every slot, -1 if none
+        private final int[] computing;
+
+        TextSlots(int size) {
+            indices = new int[size];
+            texts = new CharSequence[size];
+            widths = new float[size];
+            computing = new int[size];
+            clear();
+        }
+
+        /**
+         * Gets text of item
+         * @param index the item index
+         * @return the text, null if not computed
+         */
+        CharSequence get(int index) {
+            int slot = slot(index);
+            return indices[slot] == index ? texts[slot] : null;
+        }
+
+        /**
+         * Gets text width of item
+         * @param index the item index
+         * @return the width, -1 if not computed
+         */
+        float getWidth(int index) {
+            int slot = slot(index);
+            return indices[slot] == index ? widths[slot] : -1;
+        }
+
+        /**
+         * Keeps text of item
+         * @param index the item index
+         * @param text the text, null to only forget the slot
+         * @param width the text width, -1 if not measured
+         */
+        void put(int index, CharSequence text, float width) {
+            int slot = slot(index);
+            indices[slot] = text != null ? index : -1;
+            texts[slot] = text;
+            widths[slot] = width;
+        }
+
+        /**
+         * Marks item as being computed, items computed on binding are computed again to be measured
+         * @param index the item index
+         * @return false if item is computed or being computed already
+         */
+        boolean startComputing(int index) {
+            int slot = slot(index);
+            if ((indices[slot] == index && widths[slot] >= 0) || computing[slot] == index) {
+                return false;
+            }
+            computing[slot] = index;
+            return true;
+        }
+
+        /**
+         * Keeps computed text, unless the slot has been taken by another item since
+         * @param index the item index
+         * @param text the text, null if computing has been given up
+         * @param width the text width
+         */
+        void finishComputing(int index, CharSequence text, float width) {
+            int slot = slot(index);
+            if (computing[slot] == index) {
+                computing[slot] = -1;
+                if (text != null) {
+                    put(index, text, width);
+                }
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = -1;
+                texts[i] = null;
+                widths[i] = -1;
+                computing[i] = -1;
+            }
+        }
+
+        private int slot(int index) {
+            return index % indices.length; // indices are never negative
+        }
+    }
+
+    /**
+     * Computes and measures texts of requested items on the executor, and searches for the widest
+     * item. A single task drains the requests and a single message delivers the results,
+     * so requesting an item allocates nothing. Requests are bounded by the slots being computed,
+     * queues have that capacity.
+     */
+    private class TextPrecomputer implements Runnable {
+        private final Executor executor;
+        private final TextSlots slots;
+
+        // Requested items, ring buffer
+        private final int[] requested;
+        private int requestedHead;
+        private int requestedSize;
+
+        // Computed items waiting for delivery on the main thread
+        private final int[] doneIndices;
+        private final CharSequence[] doneTexts;
+        private final float[] doneWidths;
+        private int doneSize;
+
+        // Widest item search, count of items to search or -1 if not requested
+        private int widestItemsCount = -1;
+        private int widestResult = -1;
+        private int widestResultGeneration = -1;
+
+        private boolean isRunning;
+        private boolean isDeliveryPosted;
+
+        // Used by the running task only
+        private final TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+        private final Runnable delivery = new Runnable() {
+            @Override
+            public void run() {
+                deliver();
+            }
+        };
+
+        TextPrecomputer(Executor executor, TextSlots slots) {
+            this.executor = executor;
+            this.slots = slots;
+            int capacity = slots.indices.length;
+            requested = new int[capacity];
+            doneIndices = new int[capacity];
+            doneTexts = new CharSequence[capacity];
+            doneWidths = new float[capacity];
+        }
+
+        /**
+         * Requests computing of item, called on the main thread
+         * @param index the item index
+         * @return false if the request is not accepted
+         */
+        synchronized boolean request(int index) {
+            if (requestedSize == requested.length) {
+                return false;
+            }
+            requested[(requestedHead + requestedSize) % requested.length] = index;
+            requestedSize++;
+            start();
+            return true;
+        }
+
+        /**
+         * Requests searching for the widest item, called on the main thread
+         * @param count the items count
+         */
+        synchronized void requestWidestItem(int count) {
+            widestItemsCount = count;
+            start();
+        }
+
+        private void start() {
+            if (!isRunning) {
+                isRunning = true;
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Drops requests and results not delivered yet, called on the main thread
+         */
+        synchronized void cancel() {
+            requestedSize = 0;
+            widestItemsCount = -1;
+            widestResultGeneration = -1;
+            for (int i = 0; i < doneSize; i++) {
+                doneTexts[i] = null;
+            }
+            doneSize = 0;
+        }
+
+        @Override
+        public void run() {
+            // the running task is the only one using paint
+            paint.setTypeface(getTextTypeface());
+            paint.setTextSize(getTextSize() * context.getResources().getDisplayMetrics().scaledDensity);
+            while (true) {
+                int index;
+                int generation;
+                int widestCount = -1;
+                synchronized (this) {
+                    if (requestedSize == 0 && widestItemsCount < 0) {
+                        isRunning = false;
+                        return;
+                    }
+                    generation = textGeneration;
+                    if (requestedSize == 0) {
+                        // texts of shown items go first
+                        widestCount = widestItemsCount;
+                        widestItemsCount = -1;
+                    }
+                }
+                if (widestCount >= 0) {
+                    int widest = findWidestItem(widestCount, WIDEST_ITEM_SAMPLES);
+                    synchronized (this) {
+                        if (generation == textGeneration) {
+                            widestResult = widest;
+                            widestResultGeneration = generation;
+                            postDelivery();
+                        }
+                    }
+                    continue;
+                }
+                synchronized (this) {
+                    if (requestedSize == 0) {
+                        continue; // cancelled meanwhile
+                    }
+                    index = requested[requestedHead];
+                    requestedHead = (requestedHead + 1) % requested.length;
+                    requestedSize--;
+                    generation = textGeneration;
+                }
+                CharSequence text = getItemText(index);
+                float width = text != null ? paint.measureText(text, 0, text.length()) : -1;
+                synchronized (this) {
+                    if (generation != textGeneration || doneSize == doneIndices.length) {
+                        continue; // cancelled
+                    }
+                    doneIndices[doneSize] = index;
+                    doneTexts[doneSize] = text;
+                    doneWidths[doneSize] = width;
+                    doneSize++;
+                    postDelivery();
+                }
+            }
+        }
+
+        private void postDelivery() {
+            if (!isDeliveryPosted) {
+                isDeliveryPosted = true;
+                precomputeHandler.post(delivery);
+            }
+        }
+
+        /**
+         * Passes computed texts to the slots and the widest item to the adapter,
+         * called on the main thread
+         */
+        private void deliver() {
+            int widest;
+            int widestGeneration;
+            synchronized (this) {
+                isDeliveryPosted = false;
+                for (int i = 0; i < doneSize; i++) {
+                    slots.finishComputing(doneIndices[i], doneTexts[i], doneWidths[i]);
+                    doneTexts[i] = null;
+                }
+                doneSize = 0;
+                widest = widestResult;
+                widestGeneration = widestResultGeneration;
+                widestResultGeneration = -1;
+            }
+            if (widestGeneration >= 0 && widestGeneration == textGeneration) {
+                isWidestItemPending = false;
+                widestItemIndex = widest;
+                widestItemGeneration = widestGeneration;
+                notifyWidestItemChanged();
+            }
+        }
+    }
 }
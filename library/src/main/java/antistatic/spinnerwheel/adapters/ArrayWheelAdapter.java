@@ -58,6 +58,14 @@ public class ArrayWheelAdapter<T> extends AbstractWheelTextAdapter {
         return null;
     }
 
+    @Override
+    public Object getItemKey(int index) {
+        if (index >= 0 && index < items.length) {
+            return items[index];
+        }
+        return null;
+    }
+
     @Override
     public int getItemsCount() {
         return items.length;
@@ -0,0 +1,408 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+
+import java.text.DateFormatSymbols;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Date Wheel adapter. Items are consecutive days, counted in days since 1970-01-01 (epoch days)
+ * of the proleptic Gregorian calendar. Labels are built by day arithmetic and cached name tables,
+ * no Date or SimpleDateFormat is involved. Numbers use digits of the adapter locale,
+ * same as {@link java.text.SimpleDateFormat} and {@link NumericWheelAdapter} format patterns.
+ *
+ * Patterns support a subset of {@link java.text.SimpleDateFormat} letters:
+ * y, yy, yyyy, M, MM, MMM, MMMM, d, dd, E, EEE, EEEE; text in single quotes is literal.
+ */
+public class DateWheelAdapter extends AbstractWheelTextAdapter {
+
+    /** Number of formatted labels kept */
+    private static final int LABELS_CACHE_SIZE = 64;
+
+    // Pattern fields
+    private static final int FIELD_LITERAL = 0;
+    private static final int FIELD_YEAR = 1;
+    private static final int FIELD_YEAR_SHORT = 2;
+    private static final int FIELD_MONTH = 3;
+    private static final int FIELD_MONTH_SHORT_NAME = 4;
+    private static final int FIELD_MONTH_NAME = 5;
+    private static final int FIELD_DAY = 6;
+    private static final int FIELD_WEEKDAY_SHORT_NAME = 7;
+    private static final int FIELD_WEEKDAY_NAME = 8;
+
+    // Range, in epoch days
+    private int minDay;
+    private int maxDay;
+
+    // Name tables, months from 0, weekdays from Sunday
+    private final String[] monthNames;
+    private final String[] monthShortNames;
+    private final String[] weekdayNames;
+    private final String[] weekdayShortNames;
+    // Digit zero of the locale
+    private final char zeroDigit;
+
+    // Parsed patterns
+    private Pattern pattern;
+    private Pattern currentYearPattern;
+    private int currentYear;
+
+    // Formatted labels by epoch day, least recently used dropped first.
+    // Kept in plain arrays, so looking a day up does not box it.
+    private final String[] labels = new String[LABELS_CACHE_SIZE];
+    private final int[] labelDays = new int[LABELS_CACHE_SIZE];
+    private final long[] labelUses = new long[LABELS_CACHE_SIZE];
+    private long labelUse;
+
+    // Formatting buffer, guarded by labels
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minDay the first day, in epoch days
+     * @param maxDay the last day, in epoch days
+     * @param pattern the label pattern, e.g. "yyyy.MM.dd"
+     */
+    public DateWheelAdapter(Context context, int minDay, int maxDay, String pattern) {
+        this(context, minDay, maxDay, pattern, Locale.getDefault());
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minDay the first day, in epoch days
+     * @param maxDay the last day, in epoch days
+     * @param pattern the label pattern, e.g. "yyyy.MM.dd"
+     * @param locale the locale of month and weekday names, and of digits
+     */
+    public DateWheelAdapter(Context context, int minDay, int maxDay, String pattern, Locale locale) {
+        super(context);
+        this.minDay = minDay;
+        this.maxDay = maxDay;
+        this.pattern = new Pattern(pattern);
+
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+        monthNames = symbols.getMonths();
+        monthShortNames = symbols.getShortMonths();
+        // indexed by Calendar.SUNDAY..SATURDAY, from 1
+        weekdayNames = new String[7];
+        weekdayShortNames = new String[7];
+        System.arraycopy(symbols.getWeekdays(), Calendar.SUNDAY, weekdayNames, 0, 7);
+        System.arraycopy(symbols.getShortWeekdays(), Calendar.SUNDAY, weekdayShortNames, 0, 7);
+        zeroDigit = new DecimalFormatSymbols(locale).getZeroDigit();
+    }
+
+    /**
+     * Sets shorter pattern for days of the current year, e.g. "MM.dd"
+     * @param pattern the pattern, null to use the main pattern for all days
+     */
+    public void setCurrentYearPattern(String pattern) {
+        currentYearPattern = pattern != null ? new Pattern(pattern) : null;
+        currentYear = Calendar.getInstance().get(Calendar.YEAR);
+        clearLabels();
+        notifyDataChangedEvent();
+    }
+
+    /**
+     * Sets the first day. Days remaining in range keep their views,
+     * the spinnerwheel is only notified about items added or removed at the start.
+     * @param minDay the first day, in epoch days
+     */
+    public void setMinDay(int minDay) {
+        checkRange(minDay, maxDay);
+        int oldMinDay = this.minDay;
+        this.minDay = minDay;
+        notifyMinValueChanged(oldMinDay, minDay, maxDay);
+    }
+
+    /**
+     * Sets the last day. Days remaining in range keep their views,
+     * the spinnerwheel is only notified about items added or removed at the end.
+     * @param maxDay the last day, in epoch days
+     */
+    public void setMaxDay(int maxDay) {
+        checkRange(minDay, maxDay);
+        int oldMaxDay = this.maxDay;
+        this.maxDay = maxDay;
+        notifyMaxValueChanged(minDay, oldMaxDay, maxDay);
+    }
+
+    /**
+     * Checks that every day of range gets an item
+     * @throws IllegalArgumentException if range has more days than items can be indexed
+     */
+    private static void checkRange(int minDay, int maxDay) {
+        if ((long) maxDay - minDay >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid range: " + minDay + ".." + maxDay);
+        }
+    }
+
+    /**
+     * Gets day shown by item
+     * @param index the item index
+     * @return the day, in epoch days
+     */
+    public int getDay(int index) {
+        return minDay + index;
+    }
+
+    /**
+     * Gets item showing the day
+     * @param day the day, in epoch days
+     * @return the item index, may be out of items range
+     */
+    public int getItemIndex(int day) {
+        return day - minDay;
+    }
+
+    @Override
+    public int getItemsCount() {
+        return maxDay - minDay + 1;
+    }
+
+    @Override
+    public Object getItemKey(int index) {
+        return getDay(index);
+    }
+
+    @Override
+    public CharSequence getItemText(int index) {
+        if (index < 0 || index >= getItemsCount()) {
+            return null;
+        }
+        int day = getDay(index);
+        synchronized (labels) {
+            int eldest = 0;
+            for (int i = 0; i < LABELS_CACHE_SIZE; i++) {
+                if (labels[i] != null && labelDays[i] == day) {
+                    labelUses[i] = ++labelUse;
+                    return labels[i];
+                }
+                if (labelUses[i] < labelUses[eldest]) {
+                    eldest = i;
+                }
+            }
+            String label = format(day);
+            labels[eldest] = label;
+            labelDays[eldest] = day;
+            labelUses[eldest] = ++labelUse;
+            return label;
+        }
+    }
+
+    /**
+     * Builds label of the day
+     * @param day the day, in epoch days
+     * @return the label
+     */
+    private String format(int day) {
+        // civil from days, http://howardhinnant.github.io/date_algorithms.html
+        long z = day + 719468L;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        // 1970-01-01 is Thursday
+        int weekday = (int) (((day + 4L) % 7 + 7) % 7);
+
+        Pattern p = currentYearPattern != null && year == currentYear ? currentYearPattern : pattern;
+        StringBuilder out = buffer;
+        out.setLength(0);
+        for (int i = 0; i < p.fields.length; i++) {
+            switch (p.fields[i]) {
+                case FIELD_LITERAL:
+                    out.append(p.literals[i]);
+                    break;
+                case FIELD_YEAR:
+                    appendPadded(out, year, p.widths[i]);
+                    break;
+                case FIELD_YEAR_SHORT:
+                    appendPadded(out, (year % 100 + 100) % 100, 2);
+                    break;
+                case FIELD_MONTH:
+                    appendPadded(out, month, p.widths[i]);
+                    break;
+                case FIELD_MONTH_SHORT_NAME:
+                    out.append(monthShortNames[month - 1]);
+                    break;
+                case FIELD_MONTH_NAME:
+                    out.append(monthNames[month - 1]);
+                    break;
+                case FIELD_DAY:
+                    appendPadded(out, dayOfMonth, p.widths[i]);
+                    break;
+                case FIELD_WEEKDAY_SHORT_NAME:
+                    out.append(weekdayShortNames[weekday]);
+                    break;
+                case FIELD_WEEKDAY_NAME:
+                    out.append(weekdayNames[weekday]);
+                    break;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Appends number in locale digits, padded with zeros
+     */
+    private void appendPadded(StringBuilder out, long value, int width) {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        int digits = 1;
+        long divisor = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+            divisor *= 10;
+        }
+        for (int i = digits; i < width; i++) {
+            out.append(zeroDigit);
+        }
+        for (; divisor != 0; divisor /= 10) {
+            out.append((char) (zeroDigit + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Drops formatted labels
+     */
+    private void clearLabels() {
+        synchronized (labels) {
+            Arrays.fill(labels, null);
+            Arrays.fill(labelUses, 0);
+        }
+    }
+
+    /**
+     * Parsed label pattern
+     */
+    private static class Pattern {
+        final int[] fields;
+        final int[] widths;
+        final String[] literals;
+
+        Pattern(String pattern) {
+            ArrayList<Integer> fieldList = new ArrayList<Integer>();
+            ArrayList<Integer> widthList = new ArrayList<Integer>();
+            ArrayList<String> literalList = new ArrayList<String>();
+
+            int length = pattern.length();
+            int i = 0;
+            while (i < length) {
+                char c = pattern.charAt(i);
+                int run = 1;
+                while (i + run < length && pattern.charAt(i + run) == c) {
+                    run++;
+                }
+                int field;
+                String literal = null;
+                if (c == '\'') {
+                    // quoted text, two quotes stand for a quote
+                    StringBuilder text = new StringBuilder();
+                    int j = i + 1;
+                    if (j < length && pattern.charAt(j) == '\'') {
+                        text.append('\'');
+                        j++;
+                    } else {
+                        while (true) {
+                            if (j >= length) {
+                                throw new IllegalArgumentException("Unterminated quote in pattern: " + pattern);
+                            }
+                            char q = pattern.charAt(j++);
+                            if (q != '\'') {
+                                text.append(q);
+                            } else if (j < length && pattern.charAt(j) == '\'') {
+                                text.append('\'');
+                                j++;
+                            } else {
+                                break;
+                            }
+                        }
+                    }
+                    field = FIELD_LITERAL;
+                    literal = text.toString();
+                    run = j - i;
+                } else if (c == 'y') {
+                    field = run == 2 ? FIELD_YEAR_SHORT : FIELD_YEAR;
+                } else if (c == 'M') {
+                    field = run >= 4 ? FIELD_MONTH_NAME : run == 3 ? FIELD_MONTH_SHORT_NAME : FIELD_MONTH;
+                } else if (c == 'd') {
+                    field = FIELD_DAY;
+                } else if (c == 'E') {
+                    field = run >= 4 ? FIELD_WEEKDAY_NAME : FIELD_WEEKDAY_SHORT_NAME;
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    throw new IllegalArgumentException("Unsupported pattern letter '" + c + "' in: " + pattern);
+                } else {
+                    field = FIELD_LITERAL;
+                    literal = pattern.substring(i, i + run);
+                }
+                fieldList.add(field);
+                widthList.add(run);
+                literalList.add(literal);
+                i += run;
+            }
+
+            fields = new int[fieldList.size()];
+            widths = new int[fieldList.size()];
+            literals = literalList.toArray(new String[literalList.size()]);
+            for (int j = 0; j < fields.length; j++) {
+                fields[j] = fieldList.get(j);
+                widths[j] = widthList.get(j);
+            }
+        }
+    }
+
+    /**
+     * Converts date to epoch days
+     * @param year the year
+     * @param month the month, 1 to 12
+     * @param dayOfMonth the day of month, from 1
+     * @return the day, in days since 1970-01-01
+     */
+    public static int toEpochDay(int year, int month, int dayOfMonth) {
+        // days from civil, http://howardhinnant.github.io/date_algorithms.html
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (int) (era * 146097 + dayOfEra - 719468);
+    }
+
+    /**
+     * Converts calendar date to epoch days, ignoring time of day
+     * @param calendar the calendar
+     * @return the day, in days since 1970-01-01
+     */
+    public static int toEpochDay(Calendar calendar) {
+        return toEpochDay(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
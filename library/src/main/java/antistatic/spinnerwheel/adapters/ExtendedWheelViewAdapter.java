@@ -0,0 +1,71 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Wheel items adapter telling more about its items: view types, keys, enabled state
+ * and the widest item. Spinnerwheel checks adapters for this interface, plain
+ * {@link WheelViewAdapter} implementations keep working with defaults: a single view type,
+ * all items enabled, no keys and no widest item hint.
+ * {@link AbstractWheelAdapter} implements it with the same defaults.
+ */
+public interface ExtendedWheelViewAdapter extends WheelViewAdapter {
+    /**
+     * Gets type of the view created by {@link #getItem(int, View, ViewGroup, int)} for specified item.
+     * Convert views passed to {@link #getItem(int, View, ViewGroup, int)} are always of the same type.
+     *
+     * @param index the item index
+     * @return the view type, between 0 and {@link #getViewTypeCount()} - 1
+     */
+    public int getItemViewType(int index);
+
+    /**
+     * Gets number of item view types created by {@link #getItem(int, View, ViewGroup, int)}
+     * @return the count of view types
+     */
+    public int getViewTypeCount();
+
+    /**
+     * Gets index of the widest item, so wrap_content spinnerwheel is sized by that item alone
+     * and does not change its size while scrolling.
+     *
+     * @return the item index, -1 if not known
+     */
+    public int getWidestItemIndex();
+
+    /**
+     * Tests if item can be selected. Disabled items are still shown,
+     * but the spinnerwheel does not stop on them.
+     *
+     * @param index the item index
+     * @return true if the item is enabled
+     */
+    public boolean isItemEnabled(int index);
+
+    /**
+     * Gets key identifying the item across adapters. Items with equal keys are expected
+     * to be displayed the same way, so their views are kept when adapters are swapped.
+     *
+     * @param index the item index
+     * @return the item key, null if the item can not be identified
+     */
+    public Object getItemKey(int index);
+}
@@ -0,0 +1,228 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import java.text.DecimalFormatSymbols;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats integers following simple {@link String#format(String, Object...)} patterns:
+ * a single {@code %d} conversion with optional {@code 0} or {@code -} flag and width,
+ * surrounded by literal prefix and suffix. Digits are written into a reusable buffer,
+ * labels of bounded ranges are kept in immutable tables shared by all the formats
+ * with the same pattern. Instances are immutable and may be used from any thread.
+ */
+public final class IntLabelFormat {
+
+    /** Ranges up to this size are backed by shared label tables */
+    public static final int MAX_TABLE_SIZE = 1000;
+
+    /** Number of shared label tables kept */
+    private static final int MAX_TABLES = 32;
+
+    // Shared label tables, least recently used dropped first
+    private static final LinkedHashMap<String, String[]> sTables =
+            new LinkedHashMap<String, String[]>(MAX_TABLES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+                    return size() > MAX_TABLES;
+                }
+            };
+
+    // Formatting buffer per thread
+    private static final ThreadLocal<char[]> sBuffer = new ThreadLocal<char[]>();
+
+    private final String mPattern;
+    private final String mPrefix;
+    private final String mSuffix;
+    private final int mWidth;
+    private final boolean mZeroPadding;
+    private final boolean mLeftJustify;
+    private final char mZeroDigit;
+
+    private IntLabelFormat(String pattern, String prefix, String suffix, int width,
+                           boolean zeroPadding, boolean leftJustify, char zeroDigit) {
+        mPattern = pattern;
+        mPrefix = prefix;
+        mSuffix = suffix;
+        mWidth = width;
+        mZeroPadding = zeroPadding;
+        mLeftJustify = leftJustify;
+        mZeroDigit = zeroDigit;
+    }
+
+    /**
+     * Parses pattern. Digits follow the default locale, like {@link String#format(String, Object...)} does.
+     * @param pattern the pattern, e.g. "%02d" or "%d min"
+     * @return the format or null if pattern is not a simple integer pattern
+     */
+    public static IntLabelFormat parse(String pattern) {
+        return parse(pattern, Locale.getDefault());
+    }
+
+    /**
+     * Parses pattern. Digits follow given locale, like {@link String#format(Locale, String, Object...)} does.
+     * @param pattern the pattern, e.g. "%02d" or "%d min"
+     * @param locale the locale of digits, e.g. {@link Locale#US} for ASCII digits
+     * @return the format or null if pattern is not a simple integer pattern
+     */
+    public static IntLabelFormat parse(String pattern, Locale locale) {
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder suffix = new StringBuilder();
+        StringBuilder literal = prefix;
+        boolean converted = false;
+        boolean zeroPadding = false;
+        boolean leftJustify = false;
+        int width = 0;
+
+        int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == length) {
+                return null;
+            }
+            c = pattern.charAt(i);
+            if (c == '%') {
+                literal.append('%');
+                continue;
+            }
+            if (c == 'n') {
+                literal.append(System.getProperty("line.separator"));
+                continue;
+            }
+            if (converted) {
+                return null; // single conversion only
+            }
+            if (c == '0' || c == '-') {
+                zeroPadding = c == '0';
+                leftJustify = c == '-';
+                if (++i == length) {
+                    return null;
+                }
+                c = pattern.charAt(i);
+            }
+            while (c >= '0' && c <= '9') {
+                width = width * 10 + (c - '0');
+                if (width > 64 || ++i == length) {
+                    return null;
+                }
+                c = pattern.charAt(i);
+            }
+            if (c != 'd' || ((zeroPadding || leftJustify) && width == 0)) {
+                return null;
+            }
+            converted = true;
+            literal = suffix;
+        }
+        if (!converted) {
+            return null;
+        }
+
+        char zeroDigit = new DecimalFormatSymbols(locale).getZeroDigit();
+        return new IntLabelFormat(pattern, prefix.toString(), suffix.toString(),
+                width, zeroPadding, leftJustify, zeroDigit);
+    }
+
+    /**
+     * Formats value
+     * @param value the value
+     * @return the label
+     */
+    public String format(int value) {
+        char[] buffer = sBuffer.get();
+        int capacity = mPrefix.length() + mSuffix.length() + Math.max(mWidth, 11);
+        if (buffer == null || buffer.length < capacity) {
+            buffer = new char[capacity];
+            sBuffer.set(buffer);
+        }
+        int length = format(value, buffer);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Writes label into buffer
+     * @param value the value
+     * @param buffer the buffer, large enough for prefix, suffix and max(width, 11) chars
+     * @return the label length
+     */
+    public int format(int value, char[] buffer) {
+        int position = 0;
+        mPrefix.getChars(0, mPrefix.length(), buffer, position);
+        position += mPrefix.length();
+
+        long magnitude = Math.abs((long) value);
+        int digits = 1;
+        for (long rest = magnitude / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int signLength = value < 0 ? 1 : 0;
+        int padding = Math.max(0, mWidth - digits - signLength);
+
+        if (!mZeroPadding && !mLeftJustify) {
+            for (int i = 0; i < padding; i++) buffer[position++] = ' ';
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        if (mZeroPadding) {
+            for (int i = 0; i < padding; i++) buffer[position++] = mZeroDigit;
+        }
+        position += digits;
+        for (int i = position - 1; i >= position - digits; i--) {
+            buffer[i] = (char) (mZeroDigit + (int) (magnitude % 10));
+            magnitude /= 10;
+        }
+        if (mLeftJustify) {
+            for (int i = 0; i < padding; i++) buffer[position++] = ' ';
+        }
+
+        mSuffix.getChars(0, mSuffix.length(), buffer, position);
+        return position + mSuffix.length();
+    }
+
+    /**
+     * Gets labels of range. Tables are shared by the formats of the same pattern, must not be modified.
+     * @param min the first value
+     * @param max the last value
+     * @return the labels, or null if range is longer than {@link #MAX_TABLE_SIZE}
+     */
+    public String[] getLabels(int min, int max) {
+        long size = (long) max - min + 1;
+        if (size <= 0 || size > MAX_TABLE_SIZE) {
+            return null;
+        }
+        String key = mPattern + '\u0000' + mZeroDigit + min + ':' + max;
+        synchronized (sTables) {
+            String[] labels = sTables.get(key);
+            if (labels == null) {
+                labels = new String[(int) size];
+                for (int i = 0; i < labels.length; i++) {
+                    labels[i] = format(min + i);
+                }
+                sTables.put(key, labels);
+            }
+            return labels;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Numeric Wheel adapter for {@code long} values, e.g. timestamps or ids.
+ * The range may hold more than {@link Integer#MAX_VALUE} values.
+ */
+public class LongNumericWheelAdapter extends AbstractWheelTextAdapter implements LongWheelViewAdapter {
+
+    /**
+     * Label function
+     */
+    public interface LongParamFunction<R> {
+        R apply(long value);
+    }
+
+    // Values
+    private long minValue;
+    private long maxValue;
+
+    // format
+    private LongParamFunction<? extends CharSequence> formatFunction;
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minValue the spinnerwheel min value
+     * @param maxValue the spinnerwheel max value
+     */
+    public LongNumericWheelAdapter(Context context, long minValue, long maxValue) {
+        this(context, minValue, maxValue, null);
+    }
+
+    /**
+     * Constructor
+     * @param context the current context
+     * @param minValue the spinnerwheel min value
+     * @param maxValue the spinnerwheel max value
+     * @param formatFunction the label function, null for plain numbers
+     */
+    public LongNumericWheelAdapter(Context context, long minValue, long maxValue,
+                                   LongParamFunction<? extends CharSequence> formatFunction) {
+        super(context);
+        // the width wraps negative for ranges wider than Long.MAX_VALUE, the count then does not fit long
+        if (maxValue < minValue || maxValue - minValue < 0 || maxValue - minValue == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid range: " + minValue + ".." + maxValue);
+        }
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.formatFunction = formatFunction;
+    }
+
+    /**
+     * Gets value of item
+     * @param index the item index
+     * @return the value
+     */
+    public long getValue(long index) {
+        return minValue + index;
+    }
+
+    /**
+     * Gets item showing the value
+     * @param value the value
+     * @return the item index
+     */
+    public long getItemIndex(long value) {
+        return value - minValue;
+    }
+
+    @Override
+    public long getItemsCountLong() {
+        return maxValue - minValue + 1;
+    }
+
+    @Override
+    public int getItemsCount() {
+        return (int) Math.min(getItemsCountLong(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public View getItem(long index, View convertView, ViewGroup parent, long currentItemIdx) {
+        if (index >= 0 && index < getItemsCountLong()) {
+            return getTextItem(getItemText(index), index == currentItemIdx, convertView, parent);
+        }
+        return null;
+    }
+
+    @Override
+    public int getItemViewType(long index) {
+        return 0;
+    }
+
+    @Override
+    public boolean isItemEnabled(long index) {
+        return true;
+    }
+
+    /**
+     * Returns text for specified item
+     * @param index the item index
+     * @return the text of specified items
+     */
+    protected CharSequence getItemText(long index) {
+        long value = getValue(index);
+        return formatFunction != null ? formatFunction.apply(value) : Long.toString(value);
+    }
+
+    /**
+     * Labels are looked up by int index, items of long adapters are always drawn by views
+     */
+    @Override
+    public boolean isTextRenderable() {
+        return false;
+    }
+
+    @Override
+    public int getWidestItemIndex() {
+        if (getItemsCountLong() > Integer.MAX_VALUE) {
+            return -1; // the widest item may be out of int index range
+        }
+        return super.getWidestItemIndex();
+    }
+
+    @Override
+    protected CharSequence getItemText(int index) {
+        return getItemText((long) index);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Wheel items adapter with 64-bit item indices, for ranges beyond {@code int}.
+ * Spinnerwheel showing such adapter tracks its current item as {@code long}.
+ * Int based methods of {@link ExtendedWheelViewAdapter} are not used by the spinnerwheel then,
+ * {@link #getItemsCount()} should return the count saturated to {@link Integer#MAX_VALUE}.
+ */
+public interface LongWheelViewAdapter extends ExtendedWheelViewAdapter {
+    /**
+     * Gets items count
+     * @return the count of spinnerwheel items
+     */
+    public long getItemsCountLong();
+
+    /**
+     * Get a View that displays the data at the specified position in the data set
+     *
+     * @param index the item index
+     * @param convertView the old view to reuse if possible
+     * @param parent the parent that this view will eventually be attached to
+     * @param currentItemIdx the index of the current item
+     * @return the spinnerwheel item View
+     */
+    public View getItem(long index, View convertView, ViewGroup parent, long currentItemIdx);
+
+    /**
+     * Gets type of the view created by {@link #getItem(long, View, ViewGroup, long)} for specified item
+     *
+     * @param index the item index
+     * @return the view type, between 0 and {@link #getViewTypeCount()} - 1
+     */
+    public int getItemViewType(long index);
+
+    /**
+     * Tests if item can be selected
+     *
+     * @param index the item index
+     * @return true if the item is enabled
+     */
+    public boolean isItemEnabled(long index);
+}
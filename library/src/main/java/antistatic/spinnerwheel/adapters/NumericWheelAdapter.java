@@ -25,7 +25,8 @@
 package antistatic.spinnerwheel.adapters;
 
 import android.content.Context;
-import android.database.DataSetObserver;
+
+import java.util.Locale;
 
 /**
  * Numeric Wheel adapter.
@@ -48,9 +49,18 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
 
     private int mItemCountTemp;
 
+    // Soft bounds, values outside are shown disabled
+    private int minEnabledValue = Integer.MIN_VALUE;
+    private int maxEnabledValue = Integer.MAX_VALUE;
+
     // format
     private IntParamFunction<String> formatFunction;
 
+    // Simple integer format, used instead of String.format
+    private IntLabelFormat labelFormat;
+    // Shared labels of current range
+    private String[] labelTable;
+
     /**
      * Constructor
      * @param context the current context
@@ -77,14 +87,17 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
      * @param format the format string
      */
     public NumericWheelAdapter(Context context, int minValue, int maxValue, final String format) {
-        this(context, minValue, maxValue, new IntParamFunction<String>() {
-            @Override public String apply(int i) {
-                if (format == null) {
-                    return Integer.toString(i);
+        this(context, minValue, maxValue, (IntParamFunction<String>) null);
+        // plain labels keep the ASCII digits of Integer.toString()
+        labelFormat = format != null ? IntLabelFormat.parse(format) : IntLabelFormat.parse("%d", Locale.US);
+        if (labelFormat == null) {
+            // not a simple integer pattern
+            formatFunction = new IntParamFunction<String>() {
+                @Override public String apply(int i) {
+                    return String.format(format, i);
                 }
-                return String.format(format, i);
-            }
-        });
+            };
+        }
     }
 
     public NumericWheelAdapter(Context context, int minValue, int maxValue, IntParamFunction<String> formatFunction) {
@@ -94,32 +107,157 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
         this.maxValue = maxValue;
         this.formatFunction = formatFunction;
 
-        registerDataSetObserver(new DataSetObserver() {
-            @Override public void onInvalidated() {
-                super.onInvalidated();
-                mItemCountTemp = -1;
-            }
-        });
     }
 
+    /**
+     * Sets min value. Values remaining in range keep their views,
+     * the spinnerwheel is only notified about items added or removed at the start.
+     * @param minValue the min value
+     */
     public void setMinValue(int minValue) {
+        checkRange(minValue, maxValue);
+        int oldMinValue = this.minValue;
         this.minValue = minValue;
-        notifyDataInvalidatedEvent();
+        onRangeChanged();
+        notifyMinValueChanged(oldMinValue, minValue, maxValue);
     }
 
+    /**
+     * Sets max value. Values remaining in range keep their views,
+     * the spinnerwheel is only notified about items added or removed at the end.
+     * @param maxValue the max value
+     */
     public void setMaxValue(int maxValue) {
+        checkRange(minValue, maxValue);
+        int oldMaxValue = this.maxValue;
         this.maxValue = maxValue;
-        notifyDataInvalidatedEvent();
+        onRangeChanged();
+        notifyMaxValueChanged(minValue, oldMaxValue, maxValue);
+    }
+
+    /**
+     * Sets both bounds, e.g. shifts the range. Values in both old and new ranges keep their views.
+     * @param minValue the min value
+     * @param maxValue the max value
+     */
+    public void setRange(int minValue, int maxValue) {
+        checkRange(minValue, maxValue);
+        if (maxValue < this.minValue || minValue > this.maxValue) {
+            // no values in common
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+            onRangeChanged();
+            notifyDataInvalidatedEvent();
+            return;
+        }
+        // the other bound first when min grows the range, so the range in between
+        // is neither empty nor wider than the old or the new one
+        if (minValue < this.minValue) {
+            setMaxValue(maxValue);
+            setMinValue(minValue);
+        } else {
+            setMinValue(minValue);
+            setMaxValue(maxValue);
+        }
+    }
+
+    /**
+     * Checks that every value of range gets an item
+     * @throws IllegalArgumentException if range has more values than items can be indexed
+     */
+    private static void checkRange(int minValue, int maxValue) {
+        if ((long) maxValue - minValue >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid range: " + minValue + ".." + maxValue);
+        }
+    }
+
+    /**
+     * Sets soft bounds. Unlike {@link #setMinValue(int)} and {@link #setMaxValue(int)} values
+     * outside soft bounds stay in the spinnerwheel, they are shown disabled and skipped when it snaps.
+     * @param minEnabledValue the min enabled value
+     * @param maxEnabledValue the max enabled value
+     */
+    public void setSoftBounds(int minEnabledValue, int maxEnabledValue) {
+        int oldMinEnabledValue = this.minEnabledValue;
+        int oldMaxEnabledValue = this.maxEnabledValue;
+        this.minEnabledValue = minEnabledValue;
+        this.maxEnabledValue = maxEnabledValue;
+        notifyValuesChanged(oldMinEnabledValue, minEnabledValue);
+        notifyValuesChanged(oldMaxEnabledValue, maxEnabledValue);
+    }
+
+    /**
+     * Enables all the values
+     */
+    public void clearSoftBounds() {
+        setSoftBounds(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isItemEnabled(int index) {
+        int value = minValue + index;
+        return value >= minEnabledValue && value <= maxEnabledValue;
+    }
+
+    /**
+     * Notifies about items between two values, both inclusive
+     */
+    private void notifyValuesChanged(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        long start = Math.max(Math.min(from, to), (long) minValue);
+        long end = Math.min(Math.max(from, to), (long) maxValue);
+        if (start <= end) {
+            notifyItemRangeChanged((int) (start - minValue), (int) (end - start + 1));
+        }
+    }
+
+    /**
+     * Drops values computed for previous range. Done here rather than on invalidation
+     * notification, which may be deferred by {@link #beginUpdate()}.
+     */
+    private void onRangeChanged() {
+        mItemCountTemp = -1;
+        labelTable = null;
     }
 
     @Override public CharSequence getItemText(int index) {
         if (index >= 0 && index < getItemsCount()) {
             int value = minValue + index;
+            if (labelFormat != null) {
+                String[] labels = labelTable;
+                if (labels == null) {
+                    labels = labelFormat.getLabels(minValue, maxValue);
+                    labelTable = labels;
+                }
+                if (labels != null && index < labels.length) {
+                    return labels[index];
+                }
+                return labelFormat.format(value);
+            }
             return formatFunction != null ? formatFunction.apply(value) : Integer.toString(value);
         }
         return null;
     }
 
+    /**
+     * Gets the widest item without measuring texts. Simple integer labels are the longest
+     * for either min or max value, they have most digits among negative or positive values.
+     */
+    @Override public int getWidestItemIndex() {
+        if (labelFormat == null) {
+            return super.getWidestItemIndex();
+        }
+        int count = getItemsCount();
+        if (count <= 0) {
+            return -1;
+        }
+        CharSequence first = getItemText(0);
+        CharSequence last = getItemText(count - 1);
+        return first.length() > last.length() ? 0 : count - 1;
+    }
+
     @Override public int getItemsCount() {
         if (mItemCountTemp > 0) {
             return mItemCountTemp;
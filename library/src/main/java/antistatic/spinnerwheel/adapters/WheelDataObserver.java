@@ -0,0 +1,60 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.database.DataSetObserver;
+
+/**
+ * Data set observer receiving item level changes from {@link AbstractWheelAdapter}.
+ * Every item level callback falls back to {@link #onChanged()} unless overridden.
+ */
+public abstract class WheelDataObserver extends DataSetObserver {
+
+    /**
+     * Called when items have changed, while their count and positions stay the same
+     * @param start the index of the first changed item
+     * @param count the number of changed items
+     */
+    public void onItemRangeChanged(int start, int count) {
+        onChanged();
+    }
+
+    /**
+     * Called when items have been inserted. Items at start and after have moved by count.
+     * @param start the index of the first inserted item
+     * @param count the number of inserted items
+     */
+    public void onItemRangeInserted(int start, int count) {
+        onChanged();
+    }
+
+    /**
+     * Called when items have been removed. Items after removed ones have moved by -count.
+     * @param start the index the first removed item had
+     * @param count the number of removed items
+     */
+    public void onItemRangeRemoved(int start, int count) {
+        onChanged();
+    }
+
+    /**
+     * Called when adapter has found another widest item, items themselves have not changed
+     */
+    public void onWidestItemChanged() {
+    }
+}
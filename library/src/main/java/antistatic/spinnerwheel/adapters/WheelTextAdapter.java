@@ -0,0 +1,63 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import android.graphics.Typeface;
+
+/**
+ * Wheel adapter whose items are plain single line texts.
+ * Spinnerwheel may draw such items itself instead of creating item views.
+ */
+public interface WheelTextAdapter extends WheelViewAdapter {
+    /**
+     * Tests if items can be drawn as texts, i.e. item views show just the text styled by this adapter
+     * @return true if items can be drawn without views
+     */
+    public boolean isTextRenderable();
+
+    /**
+     * Gets text of item
+     * @param index the item index
+     * @return the item text
+     */
+    public CharSequence getItemLabel(int index);
+
+    /**
+     * Gets text color
+     * @return the text color
+     */
+    public int getTextColor();
+
+    /**
+     * Gets text color of disabled items
+     * @return the text color
+     */
+    public int getDisabledTextColor();
+
+    /**
+     * Gets text size
+     * @return the text size, in scaled pixels
+     */
+    public int getTextSize();
+
+    /**
+     * Gets text typeface
+     * @return the typeface items are drawn with
+     */
+    public Typeface getTextTypeface();
+}
@@ -0,0 +1,159 @@
+/*
+ * android-spinnerwheel
+ * https://github.com/ai212983/android-spinnerwheel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package antistatic.spinnerwheel.adapters;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link IntLabelFormat} labels against {@link String#format(Locale, String, Object...)}
+ */
+public class IntLabelFormatTest {
+
+    private static final int[] VALUES = {
+            0, 7, -7, 42, -42, 999, -999, 12345, -12345,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1
+    };
+
+    @Test
+    public void plainNumbers() {
+        assertFormats("%d", Locale.US);
+    }
+
+    @Test
+    public void width() {
+        assertFormats("%5d", Locale.US);
+        assertFormats("%1d", Locale.US);
+        assertFormats("%12d", Locale.US);
+    }
+
+    @Test
+    public void zeroPadding() {
+        assertFormats("%02d", Locale.US);
+        assertFormats("%05d", Locale.US);
+        assertFormats("%012d", Locale.US);
+    }
+
+    @Test
+    public void leftJustify() {
+        assertFormats("%-3d", Locale.US);
+        assertFormats("%-6d", Locale.US);
+    }
+
+    @Test
+    public void literals() {
+        assertFormats("%02d min", Locale.US);
+        assertFormats("Day %d", Locale.US);
+        assertFormats("%%%-4d%%", Locale.US);
+    }
+
+    @Test
+    public void localeDigits() {
+        assertFormats("%03d", new Locale("ar", "EG"));
+        assertFormats("%d", new Locale("hi", "IN"));
+    }
+
+    @Test
+    public void defaultLocale() {
+        IntLabelFormat format = IntLabelFormat.parse("%04d");
+        assertNotNull(format);
+        for (int value : VALUES) {
+            assertEquals(String.format("%04d", value), format.format(value));
+        }
+    }
+
+    @Test
+    public void unsupportedPatterns() {
+        assertNull(IntLabelFormat.parse("plain"));
+        assertNull(IntLabelFormat.parse("%s"));
+        assertNull(IntLabelFormat.parse("%x"));
+        assertNull(IntLabelFormat.parse("%d:%d"));
+        assertNull(IntLabelFormat.parse("%0d"));
+        assertNull(IntLabelFormat.parse("%-d"));
+        assertNull(IntLabelFormat.parse("%,d"));
+        assertNull(IntLabelFormat.parse("%"));
+    }
+
+    @Test
+    public void labelTables() {
+        IntLabelFormat format = IntLabelFormat.parse("%02d", Locale.US);
+        String[] labels = format.getLabels(-5, 59);
+        assertEquals(65, labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            assertEquals(String.format(Locale.US, "%02d", i - 5), labels[i]);
+        }
+        // built once, shared by formats of the same pattern
+        assertSame(labels, format.getLabels(-5, 59));
+        assertSame(labels, IntLabelFormat.parse("%02d", Locale.US).getLabels(-5, 59));
+        assertNull(format.getLabels(0, IntLabelFormat.MAX_TABLE_SIZE));
+        assertNull(format.getLabels(1, 0));
+    }
+
+    @Test
+    public void reusedBuffer() {
+        IntLabelFormat format = IntLabelFormat.parse("[%6d]", Locale.US);
+        char[] buffer = new char[32];
+        for (int value : VALUES) {
+            int length = format.format(value, buffer);
+            assertEquals(String.format(Locale.US, "[%6d]", value), new String(buffer, 0, length));
+        }
+    }
+
+    @Test
+    public void fasterThanStringFormat() {
+        IntLabelFormat format = IntLabelFormat.parse("%02d", Locale.US);
+        char[] buffer = new char[16];
+        int iterations = 20000;
+        long labelNanos = Long.MAX_VALUE;
+        long stringNanos = Long.MAX_VALUE;
+        int sink = 0;
+        // best of several runs, the first ones warm both paths up
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += format.format(i % 60, buffer);
+            }
+            labelNanos = Math.min(labelNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += String.format(Locale.US, "%02d", i % 60).length();
+            }
+            stringNanos = Math.min(stringNanos, System.nanoTime() - start);
+        }
+        assertEquals(5 * 2 * 2 * iterations, sink);
+        System.out.println("IntLabelFormat: " + labelNanos / iterations + " ns per label, String.format: "
+                + stringNanos / iterations + " ns per label");
+        assertTrue("IntLabelFormat is slower than String.format", labelNanos < stringNanos);
+    }
+
+    private static void assertFormats(String pattern, Locale locale) {
+        IntLabelFormat format = IntLabelFormat.parse(pattern, locale);
+        assertNotNull(pattern, format);
+        for (int value : VALUES) {
+            assertEquals(pattern + " of " + value, String.format(locale, pattern, value), format.format(value));
+        }
+    }
+}